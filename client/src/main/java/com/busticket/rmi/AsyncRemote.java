@@ -0,0 +1,62 @@
+package com.busticket.rmi;
+
+import java.rmi.Remote;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous access to a remote interface: any of its methods runs on its own virtual thread and
+ * completes a {@link CompletableFuture}, so a screen can start independent calls together and wait about
+ * as long as the slowest one. Futures complete off the JavaFX thread; continue with
+ * {@code thenAcceptAsync(..., Platform::runLater)} to touch the UI.
+ * <p>
+ * Every call has a deadline, after which its future fails with {@link java.util.concurrent.TimeoutException}.
+ * A call whose future times out or is cancelled has its virtual thread interrupted, which closes the
+ * connection the call is blocked on rather than leaving it running.
+ */
+public final class AsyncRemote<T extends Remote> {
+    private static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final T remote;
+    private final Duration defaultDeadline;
+
+    public AsyncRemote(T remote, Duration defaultDeadline) {
+        this.remote = remote;
+        this.defaultDeadline = defaultDeadline;
+    }
+
+    public <R> CompletableFuture<R> call(RemoteCall<T, R> call) {
+        return call(call, defaultDeadline);
+    }
+
+    /**
+     * @param deadline how long to wait for the result; null waits indefinitely
+     */
+    public <R> CompletableFuture<R> call(RemoteCall<T, R> call, Duration deadline) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        Future<?> task = VIRTUAL_THREADS.submit(() -> {
+            try {
+                result.complete(call.invoke(remote));
+            } catch (Throwable failure) {
+                result.completeExceptionally(failure);
+            }
+        });
+        result.whenComplete((value, failure) -> {
+            if (failure != null) {
+                task.cancel(true);
+            }
+        });
+        if (deadline != null) {
+            result.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return result;
+    }
+
+    public T remote() {
+        return remote;
+    }
+}
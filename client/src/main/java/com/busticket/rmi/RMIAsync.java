@@ -0,0 +1,61 @@
+package com.busticket.rmi;
+
+import com.busticket.remote.*;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous counterparts of {@link RMIClient}'s services, e.g.
+ * <pre>{@code
+ * CompletableFuture<List<TripDTO>> trips = RMIAsync.trips().call(t -> t.searchTrips(from, to, date));
+ * CompletableFuture<List<SeatAvailabilityDTO>> seats = RMIAsync.bookings().call(b -> b.getSeatAvailability(ids));
+ * CompletableFuture.allOf(trips, seats).thenRunAsync(this::render, Platform::runLater);
+ * }</pre>
+ * Calls get the deadline in {@code BTS_RMI_CALL_TIMEOUT_MS} (default 10000) unless they pass their own.
+ */
+public class RMIAsync {
+    private static final Duration DEFAULT_DEADLINE = Duration.ofMillis(callTimeoutMillis());
+
+    private static final AsyncRemote<UserRemote> USERS = new AsyncRemote<>(RMIClient.getUserRemote(), DEFAULT_DEADLINE);
+    private static final AsyncRemote<RouteRemote> ROUTES = new AsyncRemote<>(RMIClient.getRouteRemote(), DEFAULT_DEADLINE);
+    private static final AsyncRemote<BusRemote> BUSES = new AsyncRemote<>(RMIClient.getBusRemote(), DEFAULT_DEADLINE);
+    private static final AsyncRemote<TripRemote> TRIPS = new AsyncRemote<>(RMIClient.getTripRemote(), DEFAULT_DEADLINE);
+    private static final AsyncRemote<BookingRemote> BOOKINGS = new AsyncRemote<>(RMIClient.getBookingRemote(), DEFAULT_DEADLINE);
+    private static final AsyncRemote<PaymentRemote> PAYMENTS = new AsyncRemote<>(RMIClient.getPaymentRemote(), DEFAULT_DEADLINE);
+
+    public static AsyncRemote<UserRemote> users() {
+        return USERS;
+    }
+
+    public static AsyncRemote<RouteRemote> routes() {
+        return ROUTES;
+    }
+
+    public static AsyncRemote<BusRemote> buses() {
+        return BUSES;
+    }
+
+    public static AsyncRemote<TripRemote> trips() {
+        return TRIPS;
+    }
+
+    public static AsyncRemote<BookingRemote> bookings() {
+        return BOOKINGS;
+    }
+
+    public static AsyncRemote<PaymentRemote> payments() {
+        return PAYMENTS;
+    }
+
+    private static long callTimeoutMillis() {
+        String value = System.getenv("BTS_RMI_CALL_TIMEOUT_MS");
+        if (value == null || value.isBlank()) {
+            return 10_000;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return 10_000;
+        }
+    }
+}
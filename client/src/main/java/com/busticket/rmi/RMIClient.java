@@ -2,26 +2,34 @@ package com.busticket.rmi;
 
 import com.busticket.remote.*;
 
-import java.rmi.Naming;
-
+/**
+ * Entry point to the server's remote services. The returned objects are long-lived proxies: keep and reuse
+ * them. Nodes and balancing are configured by {@code BTS_RMI_ENDPOINTS} and {@code BTS_RMI_BALANCE}.
+ */
 public class RMIClient {
-    public static UserRemote  getUserRemote() throws Exception {
-        return (UserRemote) Naming.lookup("rmi://localhost/UserService");
+    private static final RemoteRegistry REGISTRY = RemoteRegistry.fromEnvironment();
+
+    public static UserRemote getUserRemote() {
+        return REGISTRY.get(UserRemote.class, "UserService");
+    }
+
+    public static RouteRemote getRouteRemote() {
+        return REGISTRY.get(RouteRemote.class, "RouteService");
     }
 
-    public static RouteRemote getRouteRemote() throws Exception {
-        return (RouteRemote) Naming.lookup("rmi://localhost/RouteService");
+    public static BusRemote getBusRemote() {
+        return REGISTRY.get(BusRemote.class, "BusService");
     }
 
-    public static BusRemote getBusRemote() throws Exception {
-        return (BusRemote) Naming.lookup("rmi://localhost/BusService");
+    public static TripRemote getTripRemote() {
+        return REGISTRY.get(TripRemote.class, "TripService");
     }
 
-    public static TripRemote getTripRemote() throws Exception {
-        return (TripRemote) Naming.lookup("rmi://localhost/TripService");
+    public static BookingRemote getBookingRemote() {
+        return REGISTRY.get(BookingRemote.class, "BookingService");
     }
 
-    public static BookingRemote getBookingRemote() throws Exception{
-        return (BookingRemote) Naming.lookup("rmi://localhost/BookingService");
+    public static PaymentRemote getPaymentRemote() {
+        return REGISTRY.get(PaymentRemote.class, "PaymentService");
     }
 }
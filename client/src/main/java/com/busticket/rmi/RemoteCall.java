@@ -0,0 +1,12 @@
+package com.busticket.rmi;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * One call on a remote interface, e.g. {@code trips -> trips.searchTrips(from, to, date)}.
+ */
+@FunctionalInterface
+public interface RemoteCall<T extends Remote, R> {
+    R invoke(T remote) throws RemoteException;
+}
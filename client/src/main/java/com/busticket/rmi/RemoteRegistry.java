@@ -0,0 +1,284 @@
+package com.busticket.rmi;
+
+import com.busticket.exception.ServerBusyException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.rmi.ConnectException;
+import java.rmi.ConnectIOException;
+import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.ServerError;
+import java.rmi.ServerException;
+import java.rmi.UnknownHostException;
+import java.rmi.registry.LocateRegistry;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client-side view of the server nodes. Each service is handed out as one proxy per interface that picks
+ * a node per call, round-robin or by fewest outstanding calls, and calls it through a stub looked up once
+ * per node and cached.
+ * <p>
+ * A connection failure drops that node's cached stubs and takes the node out of rotation for a few seconds.
+ * The call then moves to another node if it cannot have run: the connection was refused, the host or object was
+ * unknown (the node restarted) or the node answered busy. Read-only calls ({@code get*}, {@code search*},
+ * {@code autocomplete*}) are also retried after other transport failures, since running them twice is harmless.
+ * <p>
+ * A busy node stays in rotation but is not asked again within the same call. Once every node has answered
+ * busy, a read-only call waits out the shortest retry hint (at most {@value #MAX_BUSY_BACKOFF_MILLIS} ms)
+ * and makes one last attempt; other calls fail at once with the {@link ServerBusyException}. An interrupted
+ * caller, e.g. a cancelled async call, is never retried and never marks a node down.
+ * <p>
+ * Seat-map calls ({@code getSeatMap}, {@code subscribeSeatChanges}, {@code unsubscribeSeatChanges}) are pinned
+ * to one node per trip, chosen by hashing the trip id, because their state lives on the node: a seat-map
+ * version only means something to the node that issued it, and a subscription only exists where it was made.
+ * They move to another node only while the trip's node is down or busy, and an unsubscribe always goes to the
+ * node that accepted the subscription.
+ */
+final class RemoteRegistry {
+    private static final long DOWN_MILLIS = 3_000;
+    private static final long MAX_BUSY_BACKOFF_MILLIS = 1_000;
+    private static final String[] IDEMPOTENT_PREFIXES = {"get", "search", "autocomplete"};
+    private static final Set<String> TRIP_PINNED = Set.of("getSeatMap", "subscribeSeatChanges", "unsubscribeSeatChanges");
+    private static final String SUBSCRIBE = "subscribeSeatChanges";
+    private static final String UNSUBSCRIBE = "unsubscribeSeatChanges";
+
+    private final List<ServerEndpoint> endpoints;
+    private final boolean leastOutstanding;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Remote> stubs = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Object> proxies = new ConcurrentHashMap<>();
+    private final Map<List<Object>, ServerEndpoint> subscriptions = new ConcurrentHashMap<>();
+
+    RemoteRegistry(List<ServerEndpoint> endpoints, boolean leastOutstanding) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("No server endpoints configured");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.leastOutstanding = leastOutstanding;
+    }
+
+    /**
+     * Reads {@code BTS_RMI_ENDPOINTS} (default {@code localhost:1099}) and {@code BTS_RMI_BALANCE}
+     * ({@code round-robin}, the default, or {@code least-outstanding}).
+     */
+    static RemoteRegistry fromEnvironment() {
+        String endpoints = System.getenv("BTS_RMI_ENDPOINTS");
+        String balance = System.getenv("BTS_RMI_BALANCE");
+        return new RemoteRegistry(
+                ServerEndpoint.parseList(endpoints == null || endpoints.isBlank() ? "localhost:1099" : endpoints),
+                balance != null && balance.trim().toLowerCase(Locale.ROOT).equals("least-outstanding"));
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends Remote> T get(Class<T> type, String name) {
+        return (T) proxies.computeIfAbsent(type, key -> Proxy.newProxyInstance(
+                type.getClassLoader(), new Class<?>[]{type}, new Handler(name)));
+    }
+
+    /**
+     * The node a trip-pinned call should go to, or null for a call that is balanced freely.
+     */
+    private ServerEndpoint pinnedEndpoint(String name, Method method, Object[] args) {
+        if (!TRIP_PINNED.contains(method.getName()) || args == null || args.length == 0 || args[0] == null) {
+            return null;
+        }
+        if (method.getName().equals(UNSUBSCRIBE)) {
+            ServerEndpoint subscribed = subscriptions.remove(subscriptionKey(name, args));
+            if (subscribed != null) {
+                return subscribed;
+            }
+        }
+        return endpoints.get(Math.floorMod(args[0].hashCode(), endpoints.size()));
+    }
+
+    private static List<Object> subscriptionKey(String name, Object[] args) {
+        return List.of(name, args[0], args.length > 1 && args[1] != null ? args[1] : "");
+    }
+
+    private ServerEndpoint pick(ServerEndpoint pinned, ServerEndpoint exclude, Set<ServerEndpoint> busy) {
+        long now = System.currentTimeMillis();
+        if (pinned != null && pinned != exclude && !busy.contains(pinned) && pinned.isUp(now)) {
+            return pinned;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), endpoints.size());
+        ServerEndpoint best = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            ServerEndpoint candidate = endpoints.get((start + i) % endpoints.size());
+            if (candidate == exclude || busy.contains(candidate) || !candidate.isUp(now)) {
+                continue;
+            }
+            if (!leastOutstanding) {
+                return candidate;
+            }
+            if (best == null || candidate.outstanding().get() < best.outstanding().get()) {
+                best = candidate;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        // Every other node is down, excluded or busy: prefer one that did not answer busy rather than fail
+        // without a call.
+        for (int i = 0; i < endpoints.size(); i++) {
+            ServerEndpoint candidate = endpoints.get((start + i) % endpoints.size());
+            if (!busy.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return endpoints.get(start);
+    }
+
+    private Remote stub(ServerEndpoint endpoint, String name) throws RemoteException {
+        String key = endpoint + "/" + name;
+        Remote stub = stubs.get(key);
+        if (stub != null) {
+            return stub;
+        }
+        try {
+            stub = LocateRegistry.getRegistry(endpoint.host(), endpoint.port()).lookup(name);
+        } catch (NotBoundException e) {
+            throw new NoSuchObjectException(name + " is not bound on " + endpoint);
+        }
+        stubs.put(key, stub);
+        return stub;
+    }
+
+    private void evict(ServerEndpoint endpoint) {
+        String prefix = endpoint + "/";
+        stubs.keySet().removeIf(key -> key.startsWith(prefix));
+        endpoint.markDown(System.currentTimeMillis() + DOWN_MILLIS);
+    }
+
+    private static boolean isIdempotent(Method method) {
+        for (String prefix : IDEMPOTENT_PREFIXES) {
+            if (method.getName().startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean notExecuted(Throwable failure) {
+        return failure instanceof ConnectException || failure instanceof UnknownHostException
+                || failure instanceof NoSuchObjectException;
+    }
+
+    /**
+     * The server's admission control refusal. RMI wraps any RemoteException a server method throws in a
+     * {@link ServerException}, so the busy answer arrives as its cause.
+     */
+    private static ServerBusyException busyCause(Throwable failure) {
+        if (failure instanceof ServerException wrapped && wrapped.getCause() instanceof ServerBusyException busy) {
+            return busy;
+        }
+        return failure instanceof ServerBusyException busy ? busy : null;
+    }
+
+    private static boolean isConnectionFailure(Throwable failure) {
+        return failure instanceof ConnectException || failure instanceof ConnectIOException
+                || failure instanceof UnknownHostException || failure instanceof NoSuchObjectException;
+    }
+
+    private final class Handler implements InvocationHandler {
+        private final String name;
+
+        private Handler(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "RemoteProxy[" + name + " " + endpoints + "]";
+                };
+            }
+            boolean idempotent = isIdempotent(method);
+            ServerEndpoint pinned = pinnedEndpoint(name, method, args);
+            int attempts = endpoints.size() + 1;
+            ServerEndpoint failed = null;
+            Set<ServerEndpoint> busy = new HashSet<>();
+            boolean backedOff = false;
+            RemoteException last = null;
+            for (int attempt = 0; attempt < attempts; attempt++) {
+                ServerEndpoint endpoint = pick(pinned, failed, busy);
+                endpoint.outstanding().incrementAndGet();
+                try {
+                    Object result = method.invoke(stub(endpoint, name), args);
+                    if (pinned != null && method.getName().equals(SUBSCRIBE)) {
+                        subscriptions.put(subscriptionKey(name, args), endpoint);
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    if (!(e.getCause() instanceof RemoteException remote)) {
+                        throw e.getCause();
+                    }
+                    last = remote;
+                } catch (RemoteException e) {
+                    last = e;
+                } finally {
+                    endpoint.outstanding().decrementAndGet();
+                }
+                // The failure is most likely the interrupt itself, not the node: leave the node alone.
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                ServerBusyException busyAnswer = busyCause(last);
+                if (busyAnswer != null) {
+                    last = busyAnswer;
+                    busy.add(endpoint);
+                    if (backedOff) {
+                        break;
+                    }
+                    if (busy.size() < endpoints.size()) {
+                        attempts = Math.max(attempts, attempt + 2);
+                        continue;
+                    }
+                    if (!idempotent || !backOff(busyAnswer)) {
+                        break;
+                    }
+                    backedOff = true;
+                    busy.clear();
+                    attempts = attempt + 2;
+                    continue;
+                }
+                if (isConnectionFailure(last)) {
+                    evict(endpoint);
+                }
+                boolean retry = notExecuted(last) || (idempotent
+                        && !(last instanceof ServerException) && !(last instanceof ServerError));
+                if (!retry) {
+                    break;
+                }
+                failed = endpoint;
+            }
+            throw last;
+        }
+
+        /**
+         * Sleeps for the busy node's retry hint, capped; false if the caller was interrupted meanwhile.
+         */
+        private boolean backOff(ServerBusyException busy) {
+            try {
+                Thread.sleep(Math.max(0, Math.min(busy.getRetryAfterMillis(), MAX_BUSY_BACKOFF_MILLIS)));
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
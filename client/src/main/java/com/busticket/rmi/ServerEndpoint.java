@@ -0,0 +1,68 @@
+package com.busticket.rmi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One server node the client may call, with the number of calls currently outstanding against it and
+ * the time until which it is skipped after a connection failure.
+ */
+final class ServerEndpoint {
+    private static final int DEFAULT_PORT = 1099;
+
+    private final String host;
+    private final int port;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile long downUntil;
+
+    ServerEndpoint(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Parses a comma-separated {@code host[:port]} list, e.g. {@code "node1:1099,node2"}.
+     */
+    static List<ServerEndpoint> parseList(String value) {
+        List<ServerEndpoint> endpoints = new ArrayList<>();
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.lastIndexOf(':');
+            if (colon < 0) {
+                endpoints.add(new ServerEndpoint(trimmed, DEFAULT_PORT));
+            } else {
+                endpoints.add(new ServerEndpoint(trimmed.substring(0, colon), Integer.parseInt(trimmed.substring(colon + 1))));
+            }
+        }
+        return endpoints;
+    }
+
+    String host() {
+        return host;
+    }
+
+    int port() {
+        return port;
+    }
+
+    AtomicInteger outstanding() {
+        return outstanding;
+    }
+
+    boolean isUp(long now) {
+        return now >= downUntil;
+    }
+
+    void markDown(long until) {
+        downUntil = until;
+    }
+
+    @Override
+    public String toString() {
+        return host + ":" + port;
+    }
+}
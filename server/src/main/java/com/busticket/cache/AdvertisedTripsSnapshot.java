@@ -0,0 +1,157 @@
+package com.busticket.cache;
+
+import com.busticket.dao.TripDAO;
+import com.busticket.dao.impl.TripDAOImpl;
+import com.busticket.database.DatabaseConnection;
+import com.busticket.dto.TripDTO;
+import com.busticket.event.SeatCountEvents;
+import com.busticket.model.Trip;
+import com.busticket.util.EnvConfig;
+import com.busticket.util.SerializationUtil;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The home-page list of the next open trips with availability, materialized on the server. Each refresh
+ * runs the query once, builds an immutable list and its serialized bytes, and swaps both in with one
+ * volatile write; requests are then served from memory without re-serializing. Refreshes run on a fixed
+ * period and, debounced, when seats change on a listed trip or any trip is written.
+ */
+public class AdvertisedTripsSnapshot implements SeatCountEvents.Listener {
+    private static final int SIZE = 60;
+    private static final long REFRESH_SECONDS = EnvConfig.getInt("BTS_ADVERTISED_REFRESH_SECONDS", 30);
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private static final AdvertisedTripsSnapshot INSTANCE =
+            new AdvertisedTripsSnapshot(new TripDAOImpl(DatabaseConnection.getDataSource()));
+
+    private final TripDAO tripDAO;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+    private ScheduledExecutorService scheduler;
+
+    public AdvertisedTripsSnapshot(TripDAO tripDAO) {
+        this.tripDAO = tripDAO;
+    }
+
+    public static AdvertisedTripsSnapshot getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "advertised-trips-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public List<TripDTO> getTrips() {
+        return current().trips;
+    }
+
+    /**
+     * The serialized {@code ArrayList<TripDTO>}; shared by all callers and must not be modified.
+     */
+    public byte[] getBytes() {
+        return current().bytes;
+    }
+
+    /**
+     * Schedules one refresh shortly; calls arriving before it runs are folded into it.
+     */
+    public void requestRefresh() {
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            snapshot = null;
+            return;
+        }
+        if (refreshPending.compareAndSet(false, true)) {
+            current.schedule(() -> {
+                refreshPending.set(false);
+                refreshQuietly();
+            }, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void seatsChanged(Long tripId, int availableDelta) {
+        Snapshot current = snapshot;
+        if (availableDelta != 0 && current != null && current.tripIds.contains(tripId)) {
+            requestRefresh();
+        }
+    }
+
+    @Override
+    public void allSeatCountsChanged() {
+        requestRefresh();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void refresh() {
+        ArrayList<TripDTO> trips = new ArrayList<>();
+        Set<Long> tripIds = new HashSet<>();
+        for (Trip trip : tripDAO.findUpcoming(LocalDateTime.now(), SIZE)) {
+            TripDTO dto = new TripDTO();
+            dto.setTripId(trip.getTripId());
+            dto.setBusId(trip.getBusId());
+            dto.setRouteId(trip.getRouteId());
+            dto.setTravelDate(trip.getTravelDate());
+            dto.setDepartureTime(trip.getDepartureTime());
+            dto.setArrivalTime(trip.getArrivalTime());
+            dto.setPrice(trip.getPrice());
+            dto.setStatus(trip.getStatus() == null ? null : trip.getStatus().name());
+            dto.setBusNumber(trip.getBusNumber());
+            dto.setOriginCity(trip.getOriginCity());
+            dto.setDestinationCity(trip.getDestinationCity());
+            dto.setTotalSeats(trip.getTotalSeats());
+            dto.setAvailableSeats(trip.getAvailableSeats());
+            trips.add(dto);
+            tripIds.add(trip.getTripId());
+        }
+        snapshot = new Snapshot(Collections.unmodifiableList(trips), SerializationUtil.toBytes(trips), tripIds);
+    }
+
+    private record Snapshot(List<TripDTO> trips, byte[] bytes, Set<Long> tripIds) {
+    }
+}
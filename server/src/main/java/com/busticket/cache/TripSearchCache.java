@@ -0,0 +1,316 @@
+package com.busticket.cache;
+
+import com.busticket.dto.TripDTO;
+import com.busticket.event.SeatCountEvents;
+import com.busticket.util.EnvConfig;
+import com.busticket.util.SingleFlight;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of trip search results keyed by (origin, destination, travel date).
+ * <p>
+ * Entries expire after a fixed TTL and are evicted least-recently-used once either the entry count or the
+ * total weight (one per entry plus one per trip in it) exceeds its limit. Writers invalidate precisely:
+ * by key when a trip is created or moved, and by trip id when a trip or its seat count changes. A load that
+ * overlaps an invalidation of its own key or of a trip in its result is returned to its caller but not stored,
+ * so a stale result is never cached while writes to other routes and trips leave it alone. Concurrent misses
+ * on the same key share one load, so a burst of identical searches costs one query.
+ */
+public class TripSearchCache implements SeatCountEvents.Listener {
+    private static final TripSearchCache INSTANCE = new TripSearchCache(
+            EnvConfig.getInt("BTS_TRIP_CACHE_MAX_ENTRIES", 10_000),
+            EnvConfig.getInt("BTS_TRIP_CACHE_MAX_WEIGHT", 100_000),
+            Duration.ofSeconds(EnvConfig.getInt("BTS_TRIP_CACHE_TTL_SECONDS", 30)));
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Key> keyByTrip = new HashMap<>();
+    private final SingleFlight<Key, List<TripDTO>> flights = new SingleFlight<>();
+    private long weight;
+    // Invalidations are numbered; while loads are in flight, the last number per key and per trip is kept
+    // so a finishing load can tell whether anything it read was invalidated after it started.
+    private long sequence;
+    private long allInvalidatedAt;
+    private final Map<Key, Long> keyInvalidatedAt = new HashMap<>();
+    private final Map<Long, Long> tripInvalidatedAt = new HashMap<>();
+    private final TreeMap<Long, Integer> loadsInFlight = new TreeMap<>();
+
+    private long hits;
+    private long misses;
+    private long loads;
+    private long loadNanos;
+    private long maxLoadNanos;
+    private long discardedLoads;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public TripSearchCache(int maxEntries, long maxWeight, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public static TripSearchCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cached result for {@code key}, or runs {@code loader} and caches what it returns.
+     * Callers that miss while a load for the key is in flight wait for that load instead of starting one.
+     */
+    public List<TripDTO> get(Key key, Supplier<List<TripDTO>> loader) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.loadedAt < ttlNanos) {
+                hits++;
+                return new ArrayList<>(entry.trips);
+            }
+            if (entry != null) {
+                remove(key);
+                expirations++;
+            }
+            misses++;
+        }
+        return new ArrayList<>(flights.execute(key, () -> load(key, loader)));
+    }
+
+    private List<TripDTO> load(Key key, Supplier<List<TripDTO>> loader) {
+        long startSequence;
+        synchronized (this) {
+            startSequence = sequence;
+            loadsInFlight.merge(startSequence, 1, Integer::sum);
+        }
+
+        long start = System.nanoTime();
+        List<TripDTO> trips;
+        try {
+            trips = loader.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                finishLoad(startSequence);
+            }
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        synchronized (this) {
+            loads++;
+            loadNanos += elapsed;
+            maxLoadNanos = Math.max(maxLoadNanos, elapsed);
+            if (invalidatedSince(startSequence, key, trips)) {
+                discardedLoads++;
+            } else {
+                put(key, new Entry(new ArrayList<>(trips), System.nanoTime()));
+            }
+            finishLoad(startSequence);
+        }
+        return trips;
+    }
+
+    public synchronized void invalidate(Key key) {
+        recordInvalidation(keyInvalidatedAt, key);
+        if (remove(key) != null) {
+            invalidations++;
+        }
+    }
+
+    /**
+     * Drops the cached search that contains the trip, if any.
+     */
+    public synchronized void invalidateTrip(Long tripId) {
+        recordInvalidation(tripInvalidatedAt, tripId);
+        Key key = keyByTrip.get(tripId);
+        if (key != null && remove(key) != null) {
+            invalidations++;
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        allInvalidatedAt = ++sequence;
+        invalidations += entries.size();
+        entries.clear();
+        keyByTrip.clear();
+        weight = 0;
+    }
+
+    @Override
+    public void seatsChanged(Long tripId, int availableDelta) {
+        if (availableDelta != 0) {
+            invalidateTrip(tripId);
+        }
+    }
+
+    @Override
+    public void allSeatCountsChanged() {
+        invalidateAll();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized long getExpirationCount() {
+        return expirations;
+    }
+
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+
+    public long getCoalescedCount() {
+        return flights.getCoalescedCount();
+    }
+
+    public synchronized long getLoadCount() {
+        return loads;
+    }
+
+    /**
+     * Loads whose result was returned but not stored because their key or one of their trips was invalidated
+     * while they ran.
+     */
+    public synchronized long getDiscardedLoadCount() {
+        return discardedLoads;
+    }
+
+    public synchronized double getAverageLoadMillis() {
+        return loads == 0 ? 0 : loadNanos / 1_000_000.0 / loads;
+    }
+
+    public synchronized double getMaxLoadMillis() {
+        return maxLoadNanos / 1_000_000.0;
+    }
+
+    public synchronized String metricsSummary() {
+        return String.format(Locale.ROOT,
+                "tripSearchCache entries=%d weight=%d hitRatio=%.3f hits=%d misses=%d loads=%d discarded=%d "
+                        + "coalesced=%d avgLoadMs=%.2f maxLoadMs=%.2f evictions=%d expirations=%d invalidations=%d",
+                entries.size(), weight, getHitRatio(), hits, misses, loads, discardedLoads,
+                flights.getCoalescedCount(), getAverageLoadMillis(), getMaxLoadMillis(), evictions, expirations,
+                invalidations);
+    }
+
+    private <K> void recordInvalidation(Map<K, Long> stamps, K id) {
+        sequence++;
+        if (!loadsInFlight.isEmpty()) {
+            stamps.put(id, sequence);
+        }
+    }
+
+    private boolean invalidatedSince(long startSequence, Key key, List<TripDTO> trips) {
+        if (allInvalidatedAt > startSequence || keyInvalidatedAt.getOrDefault(key, 0L) > startSequence) {
+            return true;
+        }
+        if (tripInvalidatedAt.isEmpty()) {
+            return false;
+        }
+        for (TripDTO trip : trips) {
+            if (tripInvalidatedAt.getOrDefault(trip.getTripId(), 0L) > startSequence) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets invalidations that no load still in flight started before.
+     */
+    private void finishLoad(long startSequence) {
+        loadsInFlight.computeIfPresent(startSequence, (seq, count) -> count == 1 ? null : count - 1);
+        if (loadsInFlight.isEmpty()) {
+            keyInvalidatedAt.clear();
+            tripInvalidatedAt.clear();
+            return;
+        }
+        long oldest = loadsInFlight.firstKey();
+        keyInvalidatedAt.values().removeIf(stamp -> stamp <= oldest);
+        tripInvalidatedAt.values().removeIf(stamp -> stamp <= oldest);
+    }
+
+    private void put(Key key, Entry entry) {
+        remove(key);
+        entries.put(key, entry);
+        weight += entry.weight();
+        for (TripDTO trip : entry.trips) {
+            if (trip.getTripId() != null) {
+                keyByTrip.put(trip.getTripId(), key);
+            }
+        }
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            Map.Entry<Key, Entry> victim = eldest.next();
+            eldest.remove();
+            unindex(victim.getKey(), victim.getValue());
+            evictions++;
+        }
+    }
+
+    private Entry remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unindex(key, entry);
+        }
+        return entry;
+    }
+
+    private void unindex(Key key, Entry entry) {
+        weight -= entry.weight();
+        for (TripDTO trip : entry.trips) {
+            keyByTrip.remove(trip.getTripId(), key);
+        }
+    }
+
+    /**
+     * Search key; city names are compared case-insensitively, as the database collation does.
+     */
+    public record Key(String origin, String destination, LocalDate travelDate) {
+        public static Key of(String origin, String destination, LocalDate travelDate) {
+            return new Key(normalize(origin), normalize(destination), travelDate);
+        }
+
+        private static String normalize(String city) {
+            return city.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record Entry(List<TripDTO> trips, long loadedAt) {
+        long weight() {
+            return 1L + trips.size();
+        }
+    }
+}
@@ -2,15 +2,69 @@ package com.busticket.dao;
 
 import com.busticket.enums.BookingStatus;
 import com.busticket.model.Booking;
+import com.busticket.model.BookingSeat;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingDAO {
     Long createBooking(Booking booking);
 
-    void insertBookingSeats(Long bookingId, List<Long> seatIds);
+    /**
+     * Inserts all seat rows of a booking as one JDBC batch.
+     */
+    boolean insertBookingSeats(Long bookingId, List<Long> seatIds);
 
-    List<Long> findBookedSeats(Long tripId);
+    /**
+     * Locks the trip's row until the transaction ends, so bookings of the same trip take turns, then checks
+     * that none of the seats belongs to a confirmed booking or an unexpired hold on the trip. Must run inside
+     * a transaction.
+     *
+     * @return true if the trip was locked and every seat is free on it
+     */
+    boolean lockFreeSeats(Long tripId, List<Long> seatIds, LocalDateTime now);
+
+    /**
+     * Seat rows of confirmed bookings and of pending bookings whose hold expires after {@code now}.
+     */
+    List<BookingSeat> findActiveBookingSeats(Long tripId, LocalDateTime now);
+
+    /**
+     * {@link #findActiveBookingSeats(Long, LocalDateTime)} for several trips in one query, grouped by trip id.
+     */
+    Map<Long, List<BookingSeat>> findActiveBookingSeats(List<Long> tripIds, LocalDateTime now);
+
+    Booking findById(Long bookingId);
 
     boolean updateStatus(Long bookingId, BookingStatus status);
+
+    /**
+     * Moves a booking from {@code from} to {@code to}; false if it was no longer in {@code from}.
+     */
+    boolean transitionStatus(Long bookingId, BookingStatus from, BookingStatus to);
+
+    /**
+     * Locks the given bookings that are still pending and cancels them. Must run inside a transaction.
+     *
+     * @return the ids this call moved from PENDING to CANCELLED
+     */
+    List<Long> cancelPendingBookings(List<Long> bookingIds);
+
+    /**
+     * Up to {@code limit} pending bookings whose hold expired at or before {@code now}, oldest first.
+     *
+     * @return trip id by booking id
+     */
+    Map<Long, Long> findExpiredPendingHolds(LocalDateTime now, int limit);
+
+    /**
+     * @return the stored status by booking id, for those of {@code bookingIds} that exist
+     */
+    Map<Long, BookingStatus> findStatuses(List<Long> bookingIds);
+
+    /**
+     * @return number of seats by booking id, for those of {@code bookingIds} that have seats
+     */
+    Map<Long, Integer> countSeats(List<Long> bookingIds);
 }
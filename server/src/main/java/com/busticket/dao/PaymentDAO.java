@@ -1,4 +1,9 @@
 package com.busticket.dao;
 
+import com.busticket.model.Payment;
+
 public interface PaymentDAO {
+    Long save(Payment payment);
+
+    Payment findByBookingId(Long bookingId);
 }
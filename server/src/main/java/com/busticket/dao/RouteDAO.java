@@ -2,6 +2,7 @@ package com.busticket.dao;
 
 import com.busticket.model.Route;
 
+import java.sql.SQLException;
 import java.util.List;
 
 public interface RouteDAO {
@@ -11,5 +12,13 @@ public interface RouteDAO {
 
     boolean delete(Long id);
 
+    Route findById(Long id);
+
     List<Route> findAll();
+
+    /**
+     * {@link #findAll()}, but a failed read is thrown rather than returned as an empty list, for callers
+     * that cache the result.
+     */
+    List<Route> findAllChecked() throws SQLException;
 }
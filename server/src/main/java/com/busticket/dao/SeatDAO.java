@@ -0,0 +1,15 @@
+package com.busticket.dao;
+
+import com.busticket.model.Seat;
+
+import java.util.List;
+import java.util.Map;
+
+public interface SeatDAO {
+    List<Seat> findByTrip(Long tripId);
+
+    /**
+     * The bus seats of each trip in one query, each list ordered by seat id as in {@link #findByTrip(Long)}.
+     */
+    Map<Long, List<Seat>> findByTrips(List<Long> tripIds);
+}
@@ -1,8 +1,11 @@
 package com.busticket.dao;
 
 import com.busticket.model.Trip;
+import com.busticket.model.TripSearchCriteria;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TripDAO {
@@ -12,7 +15,41 @@ public interface TripDAO {
 
     boolean delete(Long id);
 
+    Trip findById(Long id);
+
     List<Trip> findAll();
 
     List<Trip> search(String origin, String destination, LocalDate date);
+
+    /**
+     * Up to {@code criteria.getLimit()} open trips matching the filters, ordered by the sort key and trip id
+     * and starting after the seek position, with bus number and seat counts.
+     */
+    List<Trip> searchPage(TripSearchCriteria criteria);
+
+    /**
+     * Open trips departing between {@code from} and {@code to} inclusive, with route cities and seat counts.
+     */
+    List<Trip> findTimetable(LocalDate from, LocalDate to);
+
+    /**
+     * Id, date, departure time and route cities of every open trip from {@code from} onwards. A failed read
+     * is thrown rather than returned as an empty schedule, since callers cache the result.
+     */
+    List<Trip> findSchedule(LocalDate from) throws SQLException;
+
+    /**
+     * The given trips with route cities and seat counts; unknown ids are skipped.
+     */
+    List<Trip> findByIds(List<Long> ids);
+
+    /**
+     * Open trips between two cities departing from {@code from} to {@code to} inclusive, with seat counts.
+     */
+    List<Trip> findByRouteBetween(String origin, String destination, LocalDate from, LocalDate to);
+
+    /**
+     * The next {@code limit} open trips departing after {@code now}, with bus number, route cities and seat counts.
+     */
+    List<Trip> findUpcoming(LocalDateTime now, int limit);
 }
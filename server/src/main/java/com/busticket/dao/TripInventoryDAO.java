@@ -0,0 +1,19 @@
+package com.busticket.dao;
+
+/**
+ * Per-trip seat counters in {@code trip_inventory}, kept in step with {@code booking_seat} by the
+ * booking, payment and hold-expiry transactions so searches read one row per trip.
+ */
+public interface TripInventoryDAO {
+    /**
+     * Adds the deltas to the trip's held and confirmed seat counts, creating its row if missing.
+     */
+    boolean adjust(Long tripId, int heldDelta, int confirmedDelta);
+
+    /**
+     * Recomputes every trip's counters from {@code booking_seat}.
+     *
+     * @return the number of trips whose counters were wrong
+     */
+    int reconcileAll();
+}
@@ -3,35 +3,362 @@ package com.busticket.dao.impl;
 import com.busticket.dao.BookingDAO;
 import com.busticket.enums.BookingStatus;
 import com.busticket.model.Booking;
+import com.busticket.model.BookingSeat;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class BookingDAOImpl implements BookingDAO {
 
-    private final Connection connection ;
+    private final DataSource dataSource;
 
-    public BookingDAOImpl(Connection connection) {
-        this.connection = connection;
+    public BookingDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
-    public Long createBooking( Booking booking) {
-        return 0L;
+    public Long createBooking(Booking booking) {
+        String sql = "INSERT INTO bookings(user_id, trip_id, booking_date, hold_expires_at, total_price, ticket_code, status) VALUES(?,?,?,?,?,?,?)";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setLong(1, booking.getUserId());
+            ps.setLong(2, booking.getTripId());
+            ps.setTimestamp(3, Timestamp.valueOf(booking.getBookingDate()));
+            ps.setTimestamp(4, booking.getHoldExpiresAt() == null ? null : Timestamp.valueOf(booking.getHoldExpiresAt()));
+            ps.setDouble(5, booking.getTotalPrice());
+            ps.setString(6, booking.getTicketCode());
+            ps.setString(7, booking.getStatus() == null ? BookingStatus.PENDING.name() : booking.getStatus().name());
+            if (ps.executeUpdate() == 0) {
+                return null;
+            }
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
     }
 
     @Override
-    public void insertBookingSeats(Long bookingId, List<Long> seatIds) {
+    public boolean insertBookingSeats(Long bookingId, List<Long> seatIds) {
+        String sql = "INSERT INTO booking_seat(booking_id, seat_id) VALUES(?,?)";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (Long seatId : seatIds) {
+                ps.setLong(1, bookingId);
+                ps.setLong(2, seatId);
+                ps.addBatch();
+            }
+            // rewriteBatchedStatements turns the batch into one multi-row INSERT, whatever the seat count.
+            for (int count : ps.executeBatch()) {
+                if (count == Statement.EXECUTE_FAILED) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
 
+    @Override
+    public boolean lockFreeSeats(Long tripId, List<Long> seatIds, LocalDateTime now) {
+        if (seatIds.isEmpty()) {
+            return false;
+        }
+        String in = placeholders(seatIds.size());
+        // The lock is per trip, not per seat: seats belong to the bus, so locking seat rows would also make
+        // bookings of the same seats on the bus's other trips wait.
+        String lock = "SELECT trip_id FROM trips WHERE trip_id = ? FOR UPDATE";
+        // A locking read sees the latest committed bookings rather than the transaction's snapshot, so a
+        // booking that committed while this one waited for the trip lock is found here.
+        String taken = "SELECT bs.seat_id FROM booking_seat bs "
+                + "JOIN bookings b ON b.booking_id = bs.booking_id "
+                + "WHERE bs.seat_id IN (" + in + ") AND b.trip_id = ? "
+                + "AND (b.status = 'CONFIRMED' OR (b.status = 'PENDING' AND b.hold_expires_at > ?)) "
+                + "LIMIT 1 FOR SHARE";
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement ps = connection.prepareStatement(lock)) {
+                ps.setLong(1, tripId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(taken)) {
+                bindIds(ps, seatIds);
+                ps.setLong(seatIds.size() + 1, tripId);
+                ps.setTimestamp(seatIds.size() + 2, Timestamp.valueOf(now));
+                try (ResultSet rs = ps.executeQuery()) {
+                    return !rs.next();
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
     }
 
     @Override
-    public List<Long> findBookedSeats(Long tripId) {
-        return List.of();
+    public List<BookingSeat> findActiveBookingSeats(Long tripId, LocalDateTime now) {
+        // Each branch is a range on idx_bookings_trip_status_expiry (trip_id, status, hold_expires_at).
+        String sql = """
+                SELECT b.booking_id, b.status, b.hold_expires_at, bs.seat_id
+                FROM bookings b
+                JOIN booking_seat bs ON bs.booking_id = b.booking_id
+                WHERE (b.trip_id = ? AND b.status = 'CONFIRMED')
+                   OR (b.trip_id = ? AND b.status = 'PENDING' AND b.hold_expires_at > ?)
+                """;
+        List<BookingSeat> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, tripId);
+            ps.setLong(2, tripId);
+            ps.setTimestamp(3, Timestamp.valueOf(now));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    BookingSeat row = new BookingSeat();
+                    row.setBookingId(rs.getLong("booking_id"));
+                    row.setSeatId(rs.getLong("seat_id"));
+                    row.setStatus(BookingStatus.valueOf(rs.getString("status")));
+                    row.setHoldExpiresAt(toLocalDateTime(rs.getTimestamp("hold_expires_at")));
+                    rows.add(row);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return rows;
+    }
+
+    @Override
+    public Map<Long, List<BookingSeat>> findActiveBookingSeats(List<Long> tripIds, LocalDateTime now) {
+        Map<Long, List<BookingSeat>> rowsByTrip = new HashMap<>();
+        if (tripIds.isEmpty()) {
+            return rowsByTrip;
+        }
+        String in = placeholders(tripIds.size());
+        String sql = "SELECT b.trip_id, b.booking_id, b.status, b.hold_expires_at, bs.seat_id "
+                + "FROM bookings b JOIN booking_seat bs ON bs.booking_id = b.booking_id "
+                + "WHERE (b.trip_id IN (" + in + ") AND b.status = 'CONFIRMED') "
+                + "OR (b.trip_id IN (" + in + ") AND b.status = 'PENDING' AND b.hold_expires_at > ?)";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (int pass = 0; pass < 2; pass++) {
+                for (Long tripId : tripIds) {
+                    ps.setLong(index++, tripId);
+                }
+            }
+            ps.setTimestamp(index, Timestamp.valueOf(now));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    BookingSeat row = new BookingSeat();
+                    row.setBookingId(rs.getLong("booking_id"));
+                    row.setSeatId(rs.getLong("seat_id"));
+                    row.setStatus(BookingStatus.valueOf(rs.getString("status")));
+                    row.setHoldExpiresAt(toLocalDateTime(rs.getTimestamp("hold_expires_at")));
+                    rowsByTrip.computeIfAbsent(rs.getLong("trip_id"), id -> new ArrayList<>()).add(row);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return rowsByTrip;
+    }
+
+    @Override
+    public Booking findById(Long bookingId) {
+        String sql = "SELECT booking_id, user_id, trip_id, booking_date, hold_expires_at, total_price, ticket_code, status FROM bookings WHERE booking_id = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, bookingId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapBooking(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
     }
 
     @Override
     public boolean updateStatus(Long bookingId, BookingStatus status) {
+        String sql = "UPDATE bookings SET status = ?, hold_expires_at = IF(? = 'PENDING', hold_expires_at, NULL) WHERE booking_id = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, status.name());
+            ps.setString(2, status.name());
+            ps.setLong(3, bookingId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean transitionStatus(Long bookingId, BookingStatus from, BookingStatus to) {
+        String sql = "UPDATE bookings SET status = ?, hold_expires_at = IF(? = 'PENDING', hold_expires_at, NULL) WHERE booking_id = ? AND status = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, to.name());
+            ps.setString(2, to.name());
+            ps.setLong(3, bookingId);
+            ps.setString(4, from.name());
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
         return false;
     }
+
+    @Override
+    public List<Long> cancelPendingBookings(List<Long> bookingIds) {
+        List<Long> cancelled = new ArrayList<>();
+        if (bookingIds.isEmpty()) {
+            return cancelled;
+        }
+        String select = "SELECT booking_id FROM bookings WHERE status = 'PENDING' AND booking_id IN ("
+                + placeholders(bookingIds.size()) + ") FOR UPDATE";
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement ps = connection.prepareStatement(select)) {
+                bindIds(ps, bookingIds);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        cancelled.add(rs.getLong("booking_id"));
+                    }
+                }
+            }
+            if (cancelled.isEmpty()) {
+                return cancelled;
+            }
+            // The rows are locked until commit, so exactly these ids change state here.
+            String update = "UPDATE bookings SET status = 'CANCELLED', hold_expires_at = NULL WHERE booking_id IN ("
+                    + placeholders(cancelled.size()) + ")";
+            try (PreparedStatement ps = connection.prepareStatement(update)) {
+                bindIds(ps, cancelled);
+                ps.executeUpdate();
+            }
+            return cancelled;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Map<Long, Long> findExpiredPendingHolds(LocalDateTime now, int limit) {
+        // Range scan on idx_bookings_status_expiry (status, hold_expires_at), oldest holds first.
+        String sql = """
+                SELECT booking_id, trip_id FROM bookings
+                WHERE status = 'PENDING' AND hold_expires_at <= ?
+                ORDER BY hold_expires_at
+                LIMIT ?
+                """;
+        Map<Long, Long> tripByBooking = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setTimestamp(1, Timestamp.valueOf(now));
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    tripByBooking.put(rs.getLong("booking_id"), rs.getLong("trip_id"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return tripByBooking;
+    }
+
+    @Override
+    public Map<Long, BookingStatus> findStatuses(List<Long> bookingIds) {
+        Map<Long, BookingStatus> statuses = new HashMap<>();
+        if (bookingIds.isEmpty()) {
+            return statuses;
+        }
+        String sql = "SELECT booking_id, status FROM bookings WHERE booking_id IN ("
+                + placeholders(bookingIds.size()) + ")";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            bindIds(ps, bookingIds);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    statuses.put(rs.getLong("booking_id"), BookingStatus.valueOf(rs.getString("status")));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return statuses;
+    }
+
+    @Override
+    public Map<Long, Integer> countSeats(List<Long> bookingIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (bookingIds.isEmpty()) {
+            return counts;
+        }
+        String sql = "SELECT booking_id, COUNT(*) AS seats FROM booking_seat WHERE booking_id IN ("
+                + placeholders(bookingIds.size()) + ") GROUP BY booking_id";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            bindIds(ps, bookingIds);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getLong("booking_id"), rs.getInt("seats"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static void bindIds(PreparedStatement ps, List<Long> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            ps.setLong(i + 1, ids.get(i));
+        }
+    }
+
+    private Booking mapBooking(ResultSet rs) throws SQLException {
+        Booking booking = new Booking();
+        booking.setBookingId(rs.getLong("booking_id"));
+        booking.setUserId(rs.getLong("user_id"));
+        booking.setTripId(rs.getLong("trip_id"));
+        booking.setBookingDate(rs.getTimestamp("booking_date").toLocalDateTime());
+        booking.setHoldExpiresAt(toLocalDateTime(rs.getTimestamp("hold_expires_at")));
+        booking.setTotalPrice(rs.getDouble("total_price"));
+        booking.setTicketCode(rs.getString("ticket_code"));
+        booking.setStatus(BookingStatus.valueOf(rs.getString("status")));
+        return booking;
+    }
 }
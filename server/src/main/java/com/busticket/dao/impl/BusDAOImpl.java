@@ -4,6 +4,7 @@ import com.busticket.dao.BusDAO;
 import com.busticket.enums.BusType;
 import com.busticket.model.Bus;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -13,17 +14,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class BusDAOImpl implements BusDAO {
-    private final Connection connection;
+    private final DataSource dataSource;
 
-    public BusDAOImpl(Connection connection) {
-        this.connection = connection;
+    public BusDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
     public boolean save(Bus bus) {
         String sql = "INSERT INTO buses(bus_number, type, total_seats) VALUES(?,?,?)";
 
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             ps.setString(1, bus.getBusNumber());
             ps.setString(2, bus.getType().name());
@@ -36,7 +38,7 @@ public class BusDAOImpl implements BusDAO {
 
             try (ResultSet rs = ps.getGeneratedKeys()) {
                 if (rs.next()) {
-                    generateSeats(rs.getLong(1), bus.getTotalSeats());
+                    generateSeats(connection, rs.getLong(1), bus.getTotalSeats());
                 }
             }
 
@@ -52,7 +54,8 @@ public class BusDAOImpl implements BusDAO {
     @Override
     public boolean update(Bus bus) {
         String sql = "UPDATE buses SET bus_number = ?, type = ?, total_seats = ? WHERE bus_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, bus.getBusNumber());
             ps.setString(2, bus.getType().name());
             ps.setInt(3, bus.getTotalSeats());
@@ -67,7 +70,8 @@ public class BusDAOImpl implements BusDAO {
     @Override
     public boolean delete(Long id) {
         String sql = "DELETE FROM buses WHERE bus_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setLong(1, id);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -80,7 +84,8 @@ public class BusDAOImpl implements BusDAO {
     public List<Bus> findAll() {
         String sql = "SELECT bus_id, bus_number, type, total_seats FROM buses ORDER BY bus_id DESC";
         List<Bus> buses = new ArrayList<>();
-        try (PreparedStatement ps = connection.prepareStatement(sql);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 Bus bus = new Bus();
@@ -103,10 +108,11 @@ public class BusDAOImpl implements BusDAO {
 
     /**
      * Auto Generate seat with bus id
+     * @param connection
      * @param busId
      * @param totalSeats
      */
-    private void generateSeats(Long busId, int totalSeats) {
+    private void generateSeats(Connection connection, Long busId, int totalSeats) {
 
         String sql = "INSERT INTO seats(bus_id, seat_number) VALUES(?,?)";
 
@@ -3,6 +3,7 @@ package com.busticket.dao.impl;
 import com.busticket.dao.RouteDAO;
 import com.busticket.model.Route;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -12,16 +13,17 @@ import java.util.List;
 
 public class RouteDAOImpl implements RouteDAO {
 
-    private final Connection connection;
+    private final DataSource dataSource;
 
-    public RouteDAOImpl(Connection connection) {
-        this.connection = connection;
+    public RouteDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
     @Override
     public boolean save(Route route) {
         String sql = "INSERT INTO routes(origin_city, destination_city, distance_km, estimated_duration) VALUES (?,?,?,?)";
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
 
             ps.setString(1, route.getOriginCity());
             ps.setString(2, route.getDestinationCity());
@@ -40,7 +42,8 @@ public class RouteDAOImpl implements RouteDAO {
     @Override
     public boolean update(Route route) {
         String sql = "UPDATE routes SET origin_city = ?, destination_city = ?, distance_km = ?, estimated_duration = ? WHERE route_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, route.getOriginCity());
             ps.setString(2, route.getDestinationCity());
             ps.setDouble(3, route.getDistanceKm());
@@ -56,7 +59,8 @@ public class RouteDAOImpl implements RouteDAO {
     @Override
     public boolean delete(Long id) {
         String sql = "DELETE FROM routes WHERE route_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setLong(1, id);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -65,24 +69,54 @@ public class RouteDAOImpl implements RouteDAO {
         return false;
     }
 
+    @Override
+    public Route findById(Long id) {
+        String sql = "SELECT route_id, origin_city, destination_city, distance_km, estimated_duration FROM routes WHERE route_id = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRoute(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     @Override
     public List<Route> findAll() {
+        try {
+            return findAllChecked();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<Route> findAllChecked() throws SQLException {
         String sql = "SELECT route_id, origin_city, destination_city, distance_km, estimated_duration FROM routes ORDER BY route_id DESC";
         List<Route> routes = new ArrayList<>();
-        try (PreparedStatement ps = connection.prepareStatement(sql);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
-                Route route = new Route();
-                route.setRouteId(rs.getLong("route_id"));
-                route.setOriginCity(rs.getString("origin_city"));
-                route.setDestinationCity(rs.getString("destination_city"));
-                route.setDistanceKm(rs.getDouble("distance_km"));
-                route.setEstimatedDuration(rs.getString("estimated_duration"));
-                routes.add(route);
+                routes.add(mapRoute(rs));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return routes;
     }
+
+    private Route mapRoute(ResultSet rs) throws SQLException {
+        Route route = new Route();
+        route.setRouteId(rs.getLong("route_id"));
+        route.setOriginCity(rs.getString("origin_city"));
+        route.setDestinationCity(rs.getString("destination_city"));
+        route.setDistanceKm(rs.getDouble("distance_km"));
+        route.setEstimatedDuration(rs.getString("estimated_duration"));
+        return route;
+    }
 }
@@ -0,0 +1,80 @@
+package com.busticket.dao.impl;
+
+import com.busticket.dao.SeatDAO;
+import com.busticket.model.Seat;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SeatDAOImpl implements SeatDAO {
+    private final DataSource dataSource;
+
+    public SeatDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public List<Seat> findByTrip(Long tripId) {
+        String sql = """
+                SELECT s.seat_id, s.bus_id, s.seat_number
+                FROM seats s
+                JOIN trips t ON t.bus_id = s.bus_id
+                WHERE t.trip_id = ?
+                ORDER BY s.seat_id
+                """;
+        List<Seat> seats = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, tripId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Seat seat = new Seat();
+                    seat.setSeatId(rs.getLong("seat_id"));
+                    seat.setBusId(rs.getLong("bus_id"));
+                    seat.setSeatNumber(rs.getString("seat_number"));
+                    seats.add(seat);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return seats;
+    }
+
+    @Override
+    public Map<Long, List<Seat>> findByTrips(List<Long> tripIds) {
+        Map<Long, List<Seat>> seatsByTrip = new HashMap<>();
+        if (tripIds.isEmpty()) {
+            return seatsByTrip;
+        }
+        String sql = "SELECT t.trip_id, s.seat_id, s.bus_id, s.seat_number FROM seats s "
+                + "JOIN trips t ON t.bus_id = s.bus_id WHERE t.trip_id IN ("
+                + String.join(",", Collections.nCopies(tripIds.size(), "?")) + ") ORDER BY t.trip_id, s.seat_id";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < tripIds.size(); i++) {
+                ps.setLong(i + 1, tripIds.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Seat seat = new Seat();
+                    seat.setSeatId(rs.getLong("seat_id"));
+                    seat.setBusId(rs.getLong("bus_id"));
+                    seat.setSeatNumber(rs.getString("seat_number"));
+                    seatsByTrip.computeIfAbsent(rs.getLong("trip_id"), id -> new ArrayList<>()).add(seat);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return seatsByTrip;
+    }
+}
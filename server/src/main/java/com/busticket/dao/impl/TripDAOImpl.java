@@ -1,47 +1,131 @@
 package com.busticket.dao.impl;
 
 import com.busticket.dao.TripDAO;
+import com.busticket.enums.TripSortKey;
 import com.busticket.enums.TripStatus;
 import com.busticket.model.Trip;
+import com.busticket.model.TripSearchCriteria;
 
+import javax.sql.DataSource;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class TripDAOImpl implements TripDAO {
-    private final Connection connection;
+    private final DataSource dataSource;
 
-    public TripDAOImpl(Connection connection) {
-        this.connection = connection;
+    public TripDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
 
     @Override
     public boolean save(Trip trip) {
+        String sql = "INSERT INTO trips(bus_id, route_id, travel_date, departure_time, arrival_time, price, status) VALUES(?,?,?,?,?,?,?)";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setLong(1, trip.getBusId());
+            ps.setLong(2, trip.getRouteId());
+            ps.setDate(3, Date.valueOf(trip.getTravelDate()));
+            ps.setTime(4, Time.valueOf(trip.getDepartureTime()));
+            ps.setTime(5, Time.valueOf(trip.getArrivalTime()));
+            ps.setDouble(6, trip.getPrice());
+            ps.setString(7, trip.getStatus() == null ? TripStatus.OPEN.name() : trip.getStatus().name());
+            if (ps.executeUpdate() == 0) {
+                return false;
+            }
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    trip.setTripId(rs.getLong(1));
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
         return false;
     }
 
     @Override
     public boolean update(Trip trip) {
+        String sql = "UPDATE trips SET bus_id = ?, route_id = ?, travel_date = ?, departure_time = ?, arrival_time = ?, price = ?, status = ? WHERE trip_id = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, trip.getBusId());
+            ps.setLong(2, trip.getRouteId());
+            ps.setDate(3, Date.valueOf(trip.getTravelDate()));
+            ps.setTime(4, Time.valueOf(trip.getDepartureTime()));
+            ps.setTime(5, Time.valueOf(trip.getArrivalTime()));
+            ps.setDouble(6, trip.getPrice());
+            ps.setString(7, trip.getStatus() == null ? TripStatus.OPEN.name() : trip.getStatus().name());
+            ps.setLong(8, trip.getTripId());
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
         return false;
     }
 
     @Override
     public boolean delete(Long id) {
+        String sql = "DELETE FROM trips WHERE trip_id = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
         return false;
     }
 
+    @Override
+    public Trip findById(Long id) {
+        String sql = "SELECT trip_id, bus_id, route_id, travel_date, departure_time, arrival_time, price, status FROM trips WHERE trip_id = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapTrip(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     @Override
     public List<Trip> findAll() {
-        return List.of();
+        String sql = "SELECT trip_id, bus_id, route_id, travel_date, departure_time, arrival_time, price, status FROM trips ORDER BY travel_date DESC, departure_time DESC";
+        List<Trip> list = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                list.add(mapTrip(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
     }
 
     @Override
     public List<Trip> search(String origin, String destination, LocalDate date) {
+        // Seat counts come from the trip_inventory counters, one row per trip, not from booking_seat.
         String sql = """
-        SELECT t.* FROM trips t
+        SELECT t.*, b.total_seats,
+               b.total_seats - COALESCE(ti.held_seats, 0) - COALESCE(ti.confirmed_seats, 0) AS available_seats
+        FROM trips t
         JOIN routes r ON t.route_id = r.route_id
+        JOIN buses b ON b.bus_id = t.bus_id
+        LEFT JOIN trip_inventory ti ON ti.trip_id = t.trip_id
         WHERE r.origin_city = ?
         AND r.destination_city = ?
         AND t.travel_date = ?
@@ -50,31 +134,290 @@ public class TripDAOImpl implements TripDAO {
 
         List<Trip> list = new ArrayList<>();
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
 
             ps.setString(1, origin);
             ps.setString(2, destination);
             ps.setDate(3, Date.valueOf(date));
 
-            ResultSet rs = ps.executeQuery();
+            // Closing the statement only returns it to the statement cache, so the result set is closed here.
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Trip trip = mapTrip(rs);
+                    trip.setTotalSeats(rs.getInt("total_seats"));
+                    trip.setAvailableSeats(rs.getInt("available_seats"));
+                    list.add(trip);
+                }
+            }
 
-            while (rs.next()) {
-                Trip trip = new Trip();
-                trip.setTripId(rs.getLong("trip_id"));
-                trip.setBusId(rs.getLong("bus_id"));
-                trip.setRouteId(rs.getLong("route_id"));
-                trip.setTravelDate(rs.getDate("travel_date").toLocalDate());
-                trip.setDepartureTime(rs.getTime("departure_time").toLocalTime());
-                trip.setArrivalTime(rs.getTime("arrival_time").toLocalTime());
-                trip.setPrice(rs.getDouble("price"));
-                trip.setStatus(TripStatus.valueOf(rs.getString("status")));
-                list.add(trip);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return list;
+    }
+
+    @Override
+    public List<Trip> searchPage(TripSearchCriteria criteria) {
+        // With departure-time order the seek predicate and LIMIT run on idx_trips_route_date_departure,
+        // so each page reads about a page of index entries however many trips the day has.
+        StringBuilder sql = new StringBuilder("""
+                SELECT t.*, b.bus_number, b.total_seats,
+                       b.total_seats - COALESCE(ti.held_seats, 0) - COALESCE(ti.confirmed_seats, 0) AS available_seats
+                FROM trips t
+                JOIN routes r ON t.route_id = r.route_id
+                JOIN buses b ON b.bus_id = t.bus_id
+                LEFT JOIN trip_inventory ti ON ti.trip_id = t.trip_id
+                WHERE r.origin_city = ?
+                  AND r.destination_city = ?
+                  AND t.travel_date = ?
+                  AND t.status = 'OPEN'
+                """);
+        List<Object> params = new ArrayList<>(List.of(
+                criteria.getOrigin(), criteria.getDestination(), Date.valueOf(criteria.getTravelDate())));
+        if (criteria.getDepartureFrom() != null) {
+            sql.append(" AND t.departure_time >= ?");
+            params.add(Time.valueOf(criteria.getDepartureFrom()));
+        }
+        if (criteria.getDepartureTo() != null) {
+            sql.append(" AND t.departure_time <= ?");
+            params.add(Time.valueOf(criteria.getDepartureTo()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            sql.append(" AND t.price <= ?");
+            params.add(BigDecimal.valueOf(criteria.getMaxPrice()));
+        }
+        if (criteria.getBusType() != null) {
+            sql.append(" AND b.type = ?");
+            params.add(criteria.getBusType().name());
+        }
+        if (criteria.getMinAvailableSeats() > 0) {
+            sql.append(" AND b.total_seats - COALESCE(ti.held_seats, 0) - COALESCE(ti.confirmed_seats, 0) >= ?");
+            params.add(criteria.getMinAvailableSeats());
+        }
+        if (criteria.getSortKey() == TripSortKey.PRICE) {
+            if (criteria.getAfterTripId() != null) {
+                sql.append(" AND (t.price > ? OR (t.price = ? AND t.trip_id > ?))");
+                params.add(BigDecimal.valueOf(criteria.getAfterPrice()));
+                params.add(BigDecimal.valueOf(criteria.getAfterPrice()));
+                params.add(criteria.getAfterTripId());
+            }
+            sql.append(" ORDER BY t.price, t.trip_id");
+        } else {
+            if (criteria.getAfterTripId() != null) {
+                sql.append(" AND (t.departure_time > ? OR (t.departure_time = ? AND t.trip_id > ?))");
+                params.add(Time.valueOf(criteria.getAfterDepartureTime()));
+                params.add(Time.valueOf(criteria.getAfterDepartureTime()));
+                params.add(criteria.getAfterTripId());
+            }
+            sql.append(" ORDER BY t.departure_time, t.trip_id");
+        }
+        sql.append(" LIMIT ?");
+        params.add(criteria.getLimit());
+
+        List<Trip> list = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Trip trip = mapTrip(rs);
+                    trip.setBusNumber(rs.getString("bus_number"));
+                    trip.setTotalSeats(rs.getInt("total_seats"));
+                    trip.setAvailableSeats(rs.getInt("available_seats"));
+                    list.add(trip);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    @Override
+    public List<Trip> findTimetable(LocalDate from, LocalDate to) {
+        String sql = """
+                SELECT t.*, r.origin_city, r.destination_city, b.total_seats,
+                       b.total_seats - COALESCE(ti.held_seats, 0) - COALESCE(ti.confirmed_seats, 0) AS available_seats
+                FROM trips t
+                JOIN routes r ON t.route_id = r.route_id
+                JOIN buses b ON b.bus_id = t.bus_id
+                LEFT JOIN trip_inventory ti ON ti.trip_id = t.trip_id
+                WHERE t.travel_date BETWEEN ? AND ?
+                  AND t.status = 'OPEN'
+                """;
+        List<Trip> list = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Trip trip = mapTrip(rs);
+                    trip.setOriginCity(rs.getString("origin_city"));
+                    trip.setDestinationCity(rs.getString("destination_city"));
+                    trip.setTotalSeats(rs.getInt("total_seats"));
+                    trip.setAvailableSeats(rs.getInt("available_seats"));
+                    list.add(trip);
+                }
             }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
 
+    @Override
+    public List<Trip> findSchedule(LocalDate from) throws SQLException {
+        String sql = """
+                SELECT t.trip_id, t.travel_date, t.departure_time, r.origin_city, r.destination_city
+                FROM trips t
+                JOIN routes r ON t.route_id = r.route_id
+                WHERE t.travel_date >= ?
+                  AND t.status = 'OPEN'
+                ORDER BY t.travel_date, t.departure_time
+                """;
+        List<Trip> list = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setDate(1, Date.valueOf(from));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Trip trip = new Trip();
+                    trip.setTripId(rs.getLong("trip_id"));
+                    trip.setTravelDate(rs.getDate("travel_date").toLocalDate());
+                    trip.setDepartureTime(rs.getTime("departure_time").toLocalTime());
+                    trip.setOriginCity(rs.getString("origin_city"));
+                    trip.setDestinationCity(rs.getString("destination_city"));
+                    list.add(trip);
+                }
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public List<Trip> findByIds(List<Long> ids) {
+        List<Trip> list = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return list;
+        }
+        String sql = """
+                SELECT t.*, r.origin_city, r.destination_city, b.total_seats,
+                       b.total_seats - COALESCE(ti.held_seats, 0) - COALESCE(ti.confirmed_seats, 0) AS available_seats
+                FROM trips t
+                JOIN routes r ON t.route_id = r.route_id
+                JOIN buses b ON b.bus_id = t.bus_id
+                LEFT JOIN trip_inventory ti ON ti.trip_id = t.trip_id
+                WHERE t.trip_id IN (""" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < ids.size(); i++) {
+                ps.setLong(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Trip trip = mapTrip(rs);
+                    trip.setOriginCity(rs.getString("origin_city"));
+                    trip.setDestinationCity(rs.getString("destination_city"));
+                    trip.setTotalSeats(rs.getInt("total_seats"));
+                    trip.setAvailableSeats(rs.getInt("available_seats"));
+                    list.add(trip);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    @Override
+    public List<Trip> findByRouteBetween(String origin, String destination, LocalDate from, LocalDate to) {
+        String sql = """
+                SELECT t.*, b.total_seats,
+                       b.total_seats - COALESCE(ti.held_seats, 0) - COALESCE(ti.confirmed_seats, 0) AS available_seats
+                FROM trips t
+                JOIN routes r ON t.route_id = r.route_id
+                JOIN buses b ON b.bus_id = t.bus_id
+                LEFT JOIN trip_inventory ti ON ti.trip_id = t.trip_id
+                WHERE r.origin_city = ?
+                  AND r.destination_city = ?
+                  AND t.travel_date BETWEEN ? AND ?
+                  AND t.status = 'OPEN'
+                """;
+        List<Trip> list = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, origin);
+            ps.setString(2, destination);
+            ps.setDate(3, Date.valueOf(from));
+            ps.setDate(4, Date.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Trip trip = mapTrip(rs);
+                    trip.setTotalSeats(rs.getInt("total_seats"));
+                    trip.setAvailableSeats(rs.getInt("available_seats"));
+                    list.add(trip);
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return list;
+    }
 
+    @Override
+    public List<Trip> findUpcoming(LocalDateTime now, int limit) {
+        // The OR is two ranges on idx_trips_travel_date: later dates, and later departures today.
+        String sql = """
+                SELECT t.*, b.bus_number, b.total_seats, r.origin_city, r.destination_city,
+                       b.total_seats - COALESCE(ti.held_seats, 0) - COALESCE(ti.confirmed_seats, 0) AS available_seats
+                FROM trips t
+                JOIN routes r ON t.route_id = r.route_id
+                JOIN buses b ON b.bus_id = t.bus_id
+                LEFT JOIN trip_inventory ti ON ti.trip_id = t.trip_id
+                WHERE t.status = 'OPEN'
+                  AND (t.travel_date > ? OR (t.travel_date = ? AND t.departure_time >= ?))
+                ORDER BY t.travel_date, t.departure_time
+                LIMIT ?
+                """;
+        List<Trip> list = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setDate(1, Date.valueOf(now.toLocalDate()));
+            ps.setDate(2, Date.valueOf(now.toLocalDate()));
+            ps.setTime(3, Time.valueOf(now.toLocalTime().withNano(0)));
+            ps.setInt(4, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Trip trip = mapTrip(rs);
+                    trip.setBusNumber(rs.getString("bus_number"));
+                    trip.setOriginCity(rs.getString("origin_city"));
+                    trip.setDestinationCity(rs.getString("destination_city"));
+                    trip.setTotalSeats(rs.getInt("total_seats"));
+                    trip.setAvailableSeats(rs.getInt("available_seats"));
+                    list.add(trip);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
         return list;
     }
+
+    private Trip mapTrip(ResultSet rs) throws SQLException {
+        Trip trip = new Trip();
+        trip.setTripId(rs.getLong("trip_id"));
+        trip.setBusId(rs.getLong("bus_id"));
+        trip.setRouteId(rs.getLong("route_id"));
+        trip.setTravelDate(rs.getDate("travel_date").toLocalDate());
+        trip.setDepartureTime(rs.getTime("departure_time").toLocalTime());
+        trip.setArrivalTime(rs.getTime("arrival_time").toLocalTime());
+        trip.setPrice(rs.getDouble("price"));
+        trip.setStatus(TripStatus.valueOf(rs.getString("status")));
+        return trip;
+    }
 }
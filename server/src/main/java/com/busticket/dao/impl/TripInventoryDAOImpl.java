@@ -0,0 +1,59 @@
+package com.busticket.dao.impl;
+
+import com.busticket.dao.TripInventoryDAO;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class TripInventoryDAOImpl implements TripInventoryDAO {
+    private final DataSource dataSource;
+
+    public TripInventoryDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean adjust(Long tripId, int heldDelta, int confirmedDelta) {
+        String sql = """
+                INSERT INTO trip_inventory(trip_id, held_seats, confirmed_seats) VALUES(?,?,?)
+                ON DUPLICATE KEY UPDATE held_seats = held_seats + VALUES(held_seats),
+                                        confirmed_seats = confirmed_seats + VALUES(confirmed_seats)
+                """;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, tripId);
+            ps.setInt(2, heldDelta);
+            ps.setInt(3, confirmedDelta);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public int reconcileAll() {
+        String sql = """
+                INSERT INTO trip_inventory(trip_id, held_seats, confirmed_seats)
+                SELECT t.trip_id,
+                       COUNT(CASE WHEN b.status = 'PENDING' THEN bs.seat_id END),
+                       COUNT(CASE WHEN b.status = 'CONFIRMED' THEN bs.seat_id END)
+                FROM trips t
+                LEFT JOIN bookings b ON b.trip_id = t.trip_id AND b.status IN ('PENDING', 'CONFIRMED')
+                LEFT JOIN booking_seat bs ON bs.booking_id = b.booking_id
+                GROUP BY t.trip_id
+                ON DUPLICATE KEY UPDATE held_seats = VALUES(held_seats),
+                                        confirmed_seats = VALUES(confirmed_seats)
+                """;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            // MySQL reports 1 per inserted row, 2 per changed row and 0 per row already correct.
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+}
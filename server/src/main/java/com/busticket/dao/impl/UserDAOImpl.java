@@ -5,6 +5,7 @@ import com.busticket.enums.Role;
 import com.busticket.enums.UserStatus;
 import com.busticket.model.User;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -14,16 +15,17 @@ import java.util.List;
 
 public class UserDAOImpl implements UserDAO {
 
-    private final Connection connection;
+    private final DataSource dataSource;
 
-    public UserDAOImpl(Connection connection) {
-        this.connection = connection;
+    public UserDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
     public User findById(Long userId) {
         String sql = "SELECT user_id, name, email, password, phone, role, status FROM users WHERE user_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setLong(1, userId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -39,7 +41,8 @@ public class UserDAOImpl implements UserDAO {
     @Override
     public User findByEmail(String email) {
         String sql = "SELECT user_id, name, email, password, phone, role, status FROM users WHERE email = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, email);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -55,7 +58,8 @@ public class UserDAOImpl implements UserDAO {
     @Override
     public boolean save(User user) {
         String sql = "INSERT INTO users(name, email, password, phone, role, status) VALUES(?,?,?,?,?,?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, user.getName());
             ps.setString(2, user.getEmail());
             ps.setString(3, user.getPassword());
@@ -72,7 +76,8 @@ public class UserDAOImpl implements UserDAO {
     @Override
     public boolean update(User user) {
         String sql = "UPDATE users SET name = ?, email = ?, password = ?, phone = ?, role = ?, status = ? WHERE user_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, user.getName());
             ps.setString(2, user.getEmail());
             ps.setString(3, user.getPassword());
@@ -90,7 +95,8 @@ public class UserDAOImpl implements UserDAO {
     @Override
     public boolean delete(Long userId) {
         String sql = "DELETE FROM users WHERE user_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setLong(1, userId);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -103,7 +109,8 @@ public class UserDAOImpl implements UserDAO {
     public List<User> findAll() {
         String sql = "SELECT user_id, name, email, password, phone, role, status FROM users ORDER BY user_id DESC";
         List<User> users = new ArrayList<>();
-        try (PreparedStatement ps = connection.prepareStatement(sql);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 users.add(mapUser(rs));
@@ -1,31 +1,67 @@
 package com.busticket.database;
 
+import com.busticket.util.EnvConfig;
+
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
 public class DatabaseConnection {
-    private static final String URL = getEnvOrDefault("BTS_DB_URL", "jdbc:mysql://localhost:3306/bus_ticket");
-    private static final String USER = getEnvOrDefault("BTS_DB_USER", "root");
-    private static final String PASSWORD = getEnvOrDefault("BTS_DB_PASSWORD", "rootpass");
+    private static final String URL = EnvConfig.getString("BTS_DB_URL", "jdbc:mysql://localhost:3306/bus_ticket");
+    private static final String USER = EnvConfig.getString("BTS_DB_USER", "root");
+    private static final String PASSWORD = EnvConfig.getString("BTS_DB_PASSWORD", "rootpass");
+
+    private static final int POOL_MIN_SIZE = EnvConfig.getInt("BTS_DB_POOL_MIN", 2);
+    private static final int POOL_MAX_SIZE = EnvConfig.getInt("BTS_DB_POOL_MAX",
+            Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    private static final long POOL_ACQUIRE_TIMEOUT_MS = EnvConfig.getInt("BTS_DB_POOL_ACQUIRE_TIMEOUT_MS", 5_000);
+    private static final long POOL_IDLE_TIMEOUT_MS = EnvConfig.getInt("BTS_DB_POOL_IDLE_TIMEOUT_MS", 600_000);
+    private static final long POOL_LEAK_THRESHOLD_MS = EnvConfig.getInt("BTS_DB_POOL_LEAK_THRESHOLD_MS", 60_000);
+    private static final int STATEMENT_CACHE_SIZE = EnvConfig.getInt("BTS_DB_STATEMENT_CACHE_SIZE", 64);
+
+    private static final ConnectionPool POOL = new ConnectionPool(URL, connectionProperties(),
+            Math.min(POOL_MIN_SIZE, POOL_MAX_SIZE), POOL_MAX_SIZE,
+            POOL_ACQUIRE_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS, STATEMENT_CACHE_SIZE);
+    private static final TransactionManager TRANSACTIONS = new TransactionManager(POOL);
+
+    /**
+     * Shared pooled data source. DAOs borrow a connection per operation and close it when done;
+     * inside {@link TransactionManager#execute} they transparently receive the transaction's connection.
+     */
+    public static DataSource getDataSource() {
+        return TRANSACTIONS.getDataSource();
+    }
 
-    private static Connection connection;
+    public static TransactionManager getTransactionManager() {
+        return TRANSACTIONS;
+    }
+
+    public static ConnectionPool getPool() {
+        return POOL;
+    }
 
+    /**
+     * Borrows a pooled connection. The caller owns it and must close it to return it to the pool.
+     */
     public static Connection getConnection(){
         try {
-            if(connection == null || connection.isClosed()){
-                connection = DriverManager.getConnection(URL,USER,PASSWORD);
-            }
+            return POOL.getConnection();
         }catch (SQLException e){
             e.printStackTrace();
             return null;
         }
-
-        return connection;
     }
 
-    private static String getEnvOrDefault(String key, String defaultValue) {
-        String value = System.getenv(key);
-        return value == null || value.isBlank() ? defaultValue : value;
+    private static Properties connectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("user", USER);
+        properties.setProperty("password", PASSWORD);
+        if (URL.startsWith("jdbc:mysql:")) {
+            // Parse each statement once on the server; the pool keeps the handles in its statement cache.
+            properties.setProperty("useServerPrepStmts", "true");
+            properties.setProperty("rewriteBatchedStatements", "true");
+        }
+        return properties;
     }
 }
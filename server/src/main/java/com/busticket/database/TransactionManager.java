@@ -0,0 +1,248 @@
+package com.busticket.database;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Thread-confined transactions over the connection pool.
+ * <p>
+ * {@link #execute} binds one pooled connection to the calling thread for the duration of the unit of work.
+ * DAOs keep borrowing from {@link #getDataSource()}: inside a transaction they receive the bound connection
+ * (closing it is a no-op), outside one they receive a plain pooled connection in auto-commit mode.
+ */
+public class TransactionManager {
+
+    public enum Propagation {
+        /** Join the transaction already bound to this thread, or start one if there is none. */
+        REQUIRED,
+        /** Suspend any transaction bound to this thread and run in a new one on a separate connection. */
+        REQUIRES_NEW
+    }
+
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+        T doInTransaction() throws SQLException;
+    }
+
+    private final DataSource pool;
+    private final DataSource transactionAwareDataSource = new TransactionAwareDataSource();
+    private final ThreadLocal<TransactionContext> current = new ThreadLocal<>();
+
+    public TransactionManager(DataSource pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Data source for DAOs: hands out the connection bound to the current transaction when there is one.
+     */
+    public DataSource getDataSource() {
+        return transactionAwareDataSource;
+    }
+
+    public <T> T execute(TransactionCallback<T> work) throws SQLException {
+        return execute(Propagation.REQUIRED, false, work);
+    }
+
+    public <T> T executeReadOnly(TransactionCallback<T> work) throws SQLException {
+        return execute(Propagation.REQUIRED, true, work);
+    }
+
+    public <T> T execute(Propagation propagation, boolean readOnly, TransactionCallback<T> work) throws SQLException {
+        TransactionContext existing = current.get();
+        if (existing != null && propagation == Propagation.REQUIRED) {
+            try {
+                return work.doInTransaction();
+            } catch (SQLException | RuntimeException e) {
+                existing.rollbackOnly = true;
+                throw e;
+            }
+        }
+
+        Connection connection = pool.getConnection();
+        TransactionContext context = new TransactionContext(connection);
+        try {
+            connection.setAutoCommit(false);
+            if (readOnly) {
+                connection.setReadOnly(true);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+
+        current.set(context);
+        try {
+            T result;
+            try {
+                result = work.doInTransaction();
+            } catch (SQLException | RuntimeException e) {
+                rollback(context);
+                throw e;
+            }
+            if (context.rollbackOnly) {
+                rollback(context);
+            } else {
+                try {
+                    connection.commit();
+                } catch (SQLException e) {
+                    rollback(context);
+                    throw e;
+                }
+                runHooks(context.afterCommit);
+            }
+            return result;
+        } finally {
+            if (existing == null) {
+                current.remove();
+            } else {
+                current.set(existing);
+            }
+            connection.close();
+        }
+    }
+
+    public boolean isTransactionActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Marks the current transaction so that it rolls back instead of committing when the outermost unit of work ends.
+     */
+    public void setRollbackOnly() {
+        TransactionContext context = current.get();
+        if (context != null) {
+            context.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * Runs {@code hook} after the current transaction commits, or immediately when no transaction is active.
+     */
+    public void afterCommit(Runnable hook) {
+        TransactionContext context = current.get();
+        if (context == null) {
+            hook.run();
+        } else {
+            context.afterCommit.add(hook);
+        }
+    }
+
+    /**
+     * Runs {@code hook} if the current transaction rolls back. Ignored when no transaction is active.
+     */
+    public void afterRollback(Runnable hook) {
+        TransactionContext context = current.get();
+        if (context != null) {
+            context.afterRollback.add(hook);
+        }
+    }
+
+    private void rollback(TransactionContext context) {
+        try {
+            context.connection.rollback();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        runHooks(context.afterRollback);
+    }
+
+    private void runHooks(List<Runnable> hooks) {
+        for (Runnable hook : hooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static class TransactionContext {
+        private final Connection connection;
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private final List<Runnable> afterRollback = new ArrayList<>();
+        private boolean rollbackOnly;
+
+        private TransactionContext(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    private class TransactionAwareDataSource implements DataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            TransactionContext context = current.get();
+            if (context == null) {
+                return pool.getConnection();
+            }
+            Connection bound = context.connection;
+            // The transaction owns the connection; DAO try-with-resources must not return it early.
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                return null;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                        try {
+                            return method.invoke(bound, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Pool is bound to a single database user");
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return pool.getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            pool.setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            pool.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return pool.getLoginTimeout();
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            return pool.getParentLogger();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            return pool.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return pool.isWrapperFor(iface);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.busticket.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Publishes committed changes to trips' free-seat counts to the in-memory views derived from them.
+ * Booking, payment and hold expiry fire from their after-commit hooks; listeners run synchronously
+ * on that thread and must not block.
+ */
+public final class SeatCountEvents {
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private SeatCountEvents() {
+    }
+
+    public interface Listener {
+        /**
+         * @param availableDelta change in the trip's free seats; zero when seats only moved from held to sold
+         */
+        void seatsChanged(Long tripId, int availableDelta);
+
+        /**
+         * Counts may have changed for any trip, e.g. after the counters were repaired.
+         */
+        void allSeatCountsChanged();
+    }
+
+    public static void register(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void seatsChanged(Long tripId, int availableDelta) {
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.seatsChanged(tripId, availableDelta);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public static void allSeatCountsChanged() {
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.allSeatCountsChanged();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
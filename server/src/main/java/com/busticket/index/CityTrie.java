@@ -0,0 +1,59 @@
+package com.busticket.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Case-insensitive prefix tree of city names. Children are kept sorted, so completions come out in
+ * alphabetical order and a lookup stops as soon as it has {@code limit} names. Built once, then read-only.
+ */
+final class CityTrie {
+    private final Node root = new Node();
+
+    void add(String city) {
+        Node node = root;
+        for (char c : key(city).toCharArray()) {
+            node = node.children.computeIfAbsent(c, k -> new Node());
+        }
+        if (node.city == null) {
+            node.city = city;
+        }
+    }
+
+    List<String> complete(String prefix, int limit) {
+        List<String> matches = new ArrayList<>();
+        Node node = root;
+        for (char c : key(prefix).toCharArray()) {
+            node = node.children.get(c);
+            if (node == null) {
+                return matches;
+            }
+        }
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty() && matches.size() < limit) {
+            Node current = stack.pop();
+            if (current.city != null) {
+                matches.add(current.city);
+            }
+            for (Node child : current.children.descendingMap().values()) {
+                stack.push(child);
+            }
+        }
+        return matches;
+    }
+
+    static String key(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private String city;
+    }
+}
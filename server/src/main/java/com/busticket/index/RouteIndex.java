@@ -0,0 +1,109 @@
+package com.busticket.index;
+
+import com.busticket.dao.RouteDAO;
+import com.busticket.dao.impl.RouteDAOImpl;
+import com.busticket.database.DatabaseConnection;
+import com.busticket.model.Route;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory view of the route graph for city dropdowns and type-ahead: origin cities, the sorted
+ * destinations of each origin, and a prefix trie over every city. Reads go to an immutable snapshot
+ * that is rebuilt from {@code RouteDAO.findAllChecked()} whenever a route is written, so no dropdown refresh
+ * touches the database. A rebuild that fails keeps the previous snapshot and is retried by the next read,
+ * so a database error is never cached as an empty route list.
+ */
+public class RouteIndex {
+    private static final RouteIndex INSTANCE = new RouteIndex(new RouteDAOImpl(DatabaseConnection.getDataSource()));
+
+    private final RouteDAO routeDAO;
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    public RouteIndex(RouteDAO routeDAO) {
+        this.routeDAO = routeDAO;
+    }
+
+    public static RouteIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Reloads all routes and swaps in a new snapshot. Called at startup and after every route write.
+     *
+     * @return false if the routes could not be read; the previous snapshot, if any, stays in place
+     */
+    public synchronized boolean refresh() {
+        stale = true;
+        try {
+            snapshot = new Snapshot(routeDAO.findAllChecked());
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+        stale = false;
+        return true;
+    }
+
+    public List<String> getOriginCities() {
+        return new ArrayList<>(current().origins.values());
+    }
+
+    public List<String> getDestinationCities(String origin) {
+        if (origin == null || origin.isBlank()) {
+            return new ArrayList<>(current().allDestinations.values());
+        }
+        List<String> destinations = current().destinationsByOrigin.get(CityTrie.key(origin));
+        return destinations == null ? new ArrayList<>() : new ArrayList<>(destinations);
+    }
+
+    public List<String> autocompleteCities(String prefix, int limit) {
+        if (prefix == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return current().cities.complete(prefix, limit);
+    }
+
+    private Snapshot current() {
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    refresh();
+                }
+            }
+        }
+        Snapshot current = snapshot;
+        return current != null ? current : Snapshot.EMPTY;
+    }
+
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(List.of());
+
+        private final TreeMap<String, String> origins = new TreeMap<>();
+        private final TreeMap<String, String> allDestinations = new TreeMap<>();
+        private final Map<String, List<String>> destinationsByOrigin = new HashMap<>();
+        private final CityTrie cities = new CityTrie();
+
+        private Snapshot(List<Route> routes) {
+            Map<String, TreeMap<String, String>> sorted = new HashMap<>();
+            for (Route route : routes) {
+                String origin = route.getOriginCity();
+                String destination = route.getDestinationCity();
+                origins.putIfAbsent(CityTrie.key(origin), origin);
+                allDestinations.putIfAbsent(CityTrie.key(destination), destination);
+                sorted.computeIfAbsent(CityTrie.key(origin), k -> new TreeMap<>())
+                        .putIfAbsent(CityTrie.key(destination), destination);
+                cities.add(origin);
+                cities.add(destination);
+            }
+            sorted.forEach((origin, destinations) ->
+                    destinationsByOrigin.put(origin, List.copyOf(destinations.values())));
+        }
+    }
+}
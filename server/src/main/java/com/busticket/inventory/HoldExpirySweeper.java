@@ -0,0 +1,151 @@
+package com.busticket.inventory;
+
+import com.busticket.dao.BookingDAO;
+import com.busticket.dao.TripInventoryDAO;
+import com.busticket.dao.impl.BookingDAOImpl;
+import com.busticket.dao.impl.TripInventoryDAOImpl;
+import com.busticket.database.DatabaseConnection;
+import com.busticket.database.TransactionManager;
+import com.busticket.enums.BookingStatus;
+import com.busticket.event.SeatCountEvents;
+import com.busticket.util.EnvConfig;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background worker that cancels pending bookings whose seat hold has lapsed. Holds of loaded trips come
+ * off the inventory's expiry queue as they fall due and are cancelled in batches, one transaction per batch
+ * that also releases the seats from {@code trip_inventory}; a periodic database sweep catches pending
+ * bookings of trips that were never loaded into memory. Request threads never expire holds themselves.
+ * The periodic pass also evicts idle trip maps from the inventory.
+ */
+public class HoldExpirySweeper {
+    private static final int BATCH_SIZE = EnvConfig.getInt("BTS_HOLD_SWEEP_BATCH_SIZE", 500);
+    private static final long DB_SWEEP_INTERVAL_MS =
+            TimeUnit.SECONDS.toMillis(EnvConfig.getInt("BTS_HOLD_SWEEP_INTERVAL_SECONDS", 60));
+
+    private final SeatInventory seatInventory;
+    private final BookingDAO bookingDAO;
+    private final TripInventoryDAO tripInventoryDAO;
+    private final TransactionManager transactionManager;
+    private volatile Thread worker;
+
+    public HoldExpirySweeper() {
+        this(SeatInventory.getInstance(),
+                new BookingDAOImpl(DatabaseConnection.getDataSource()),
+                new TripInventoryDAOImpl(DatabaseConnection.getDataSource()),
+                DatabaseConnection.getTransactionManager());
+    }
+
+    public HoldExpirySweeper(SeatInventory seatInventory, BookingDAO bookingDAO,
+                             TripInventoryDAO tripInventoryDAO, TransactionManager transactionManager) {
+        this.seatInventory = seatInventory;
+        this.bookingDAO = bookingDAO;
+        this.tripInventoryDAO = tripInventoryDAO;
+        this.transactionManager = transactionManager;
+    }
+
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        worker = new Thread(this::run, "hold-expiry-sweeper");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void run() {
+        long nextDbSweep = 0;
+        while (worker == Thread.currentThread()) {
+            try {
+                long now = System.currentTimeMillis();
+                if (now >= nextDbSweep) {
+                    sweepDatabase();
+                    seatInventory.evictIdle();
+                    nextDbSweep = now + DB_SWEEP_INTERVAL_MS;
+                }
+                List<PendingHold> due = seatInventory.awaitExpiredHolds(
+                        BATCH_SIZE, Math.max(1, nextDbSweep - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (!due.isEmpty()) {
+                    Map<Long, Long> tripByBooking = new HashMap<>();
+                    for (PendingHold hold : due) {
+                        tripByBooking.put(hold.getBookingId(), hold.getTripId());
+                    }
+                    expire(tripByBooking);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (SQLException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Cancels whichever of the bookings are still pending. Only bookings this transaction actually moved
+     * out of PENDING release seats in {@code trip_inventory}; a payment that won the race keeps its seats.
+     * The rest were settled elsewhere, possibly by another node, so their in-memory seats are brought in
+     * line with the stored status instead of staying held.
+     */
+    private void expire(Map<Long, Long> tripByBooking) throws SQLException {
+        transactionManager.execute(() -> {
+            List<Long> cancelled = bookingDAO.cancelPendingBookings(new ArrayList<>(tripByBooking.keySet()));
+            Map<Long, Integer> seatsByTrip = new HashMap<>();
+            bookingDAO.countSeats(cancelled).forEach((bookingId, seats) ->
+                    seatsByTrip.merge(tripByBooking.get(bookingId), seats, Integer::sum));
+            for (Map.Entry<Long, Integer> entry : seatsByTrip.entrySet()) {
+                if (!tripInventoryDAO.adjust(entry.getKey(), -entry.getValue(), 0)) {
+                    transactionManager.setRollbackOnly();
+                    return null;
+                }
+            }
+            List<Long> settled = new ArrayList<>(tripByBooking.keySet());
+            settled.removeAll(cancelled);
+            Map<Long, BookingStatus> statuses = bookingDAO.findStatuses(settled);
+            transactionManager.afterCommit(() -> {
+                for (Long bookingId : cancelled) {
+                    seatInventory.cancel(tripByBooking.get(bookingId), bookingId);
+                }
+                for (Long bookingId : settled) {
+                    Long tripId = tripByBooking.get(bookingId);
+                    BookingStatus status = statuses.get(bookingId);
+                    if (status == BookingStatus.CONFIRMED) {
+                        seatInventory.confirm(tripId, bookingId);
+                    } else if (status == BookingStatus.CANCELLED) {
+                        seatInventory.cancel(tripId, bookingId);
+                    } else if (status == null) {
+                        // Gone, or the lookup failed: reread the whole trip rather than guess.
+                        seatInventory.invalidate(tripId);
+                    }
+                }
+                seatsByTrip.forEach(SeatCountEvents::seatsChanged);
+            });
+            return null;
+        });
+    }
+
+    private void sweepDatabase() throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Long> tripByBooking;
+        do {
+            tripByBooking = bookingDAO.findExpiredPendingHolds(now, BATCH_SIZE);
+            if (!tripByBooking.isEmpty()) {
+                expire(tripByBooking);
+            }
+        } while (tripByBooking.size() >= BATCH_SIZE);
+    }
+}
@@ -0,0 +1,40 @@
+package com.busticket.inventory;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pending booking's seat hold, ordered in the expiry queue by the time it lapses.
+ */
+final class PendingHold implements Delayed {
+    private final Long tripId;
+    private final Long bookingId;
+    private final long expiresAtMillis;
+
+    PendingHold(Long tripId, Long bookingId, long expiresAtMillis) {
+        this.tripId = tripId;
+        this.bookingId = bookingId;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    Long getTripId() {
+        return tripId;
+    }
+
+    Long getBookingId() {
+        return bookingId;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof PendingHold hold) {
+            return Long.compare(expiresAtMillis, hold.expiresAtMillis);
+        }
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
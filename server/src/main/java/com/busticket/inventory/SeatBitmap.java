@@ -0,0 +1,9 @@
+package com.busticket.inventory;
+
+/**
+ * Free seats of one trip as a bitmap over seat ordinals: bit {@code i} of {@code available} (word
+ * {@code i >>> 6}) is set when the bus's {@code i}-th seat by seat id is free. {@code version} is the
+ * trip map's version when the bitmap was taken, to be passed back for {@link SeatInventory#getChanges}.
+ */
+public record SeatBitmap(Long tripId, Long busId, long version, int seatCount, long[] available) {
+}
@@ -0,0 +1,7 @@
+package com.busticket.inventory;
+
+/**
+ * Seat ordinals of one trip that became free or taken between two versions of its seat map.
+ */
+public record SeatDelta(Long tripId, long fromVersion, long version, int[] freed, int[] taken) {
+}
@@ -0,0 +1,45 @@
+package com.busticket.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seats reserved in memory for a booking that is still being written.
+ * Hand it to {@link SeatInventory#attach} once the booking commits, or {@link SeatInventory#release} if it rolls back.
+ */
+public final class SeatHold {
+    private final Long tripId;
+    private final int[] ordinals;
+    private final long[] seatIds;
+    private final TripSeatMap map;
+
+    SeatHold(Long tripId, int[] ordinals, long[] seatIds, TripSeatMap map) {
+        this.tripId = tripId;
+        this.ordinals = ordinals;
+        this.seatIds = seatIds;
+        this.map = map;
+    }
+
+    public Long getTripId() {
+        return tripId;
+    }
+
+    public List<Long> getSeatIds() {
+        List<Long> ids = new ArrayList<>(seatIds.length);
+        for (long seatId : seatIds) {
+            ids.add(seatId);
+        }
+        return ids;
+    }
+
+    int[] ordinals() {
+        return ordinals;
+    }
+
+    /**
+     * The map the seats were reserved in; a map reloaded since then never saw the reservation.
+     */
+    TripSeatMap map() {
+        return map;
+    }
+}
@@ -0,0 +1,366 @@
+package com.busticket.inventory;
+
+import com.busticket.dao.BookingDAO;
+import com.busticket.dao.SeatDAO;
+import com.busticket.dao.impl.BookingDAOImpl;
+import com.busticket.dao.impl.SeatDAOImpl;
+import com.busticket.database.DatabaseConnection;
+import com.busticket.enums.BookingStatus;
+import com.busticket.model.BookingSeat;
+import com.busticket.model.Seat;
+import com.busticket.util.EnvConfig;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Server-side seat inventory: one {@link TripSeatMap} bitset per trip, loaded lazily from the database and
+ * kept current write-through by the booking and payment paths. Availability checks, seat holds and the
+ * available seat count are answered from memory instead of the {@code booking_seat JOIN bookings} queries.
+ * Pending holds are queued by expiry time and released by the {@link HoldExpirySweeper}, never by a read.
+ * Maps that have not been read for {@code BTS_SEAT_MAP_IDLE_MINUTES}, which includes every departed trip,
+ * are evicted by the same sweeper and reload on next use. Bookings written by other server nodes never pass
+ * through this map, so a map older than {@code BTS_SEAT_MAP_MAX_AGE_SECONDS} is read again on its next use,
+ * and a booking the database guard rejects drops the map at once.
+ */
+public class SeatInventory {
+    public static final Duration HOLD_TTL = Duration.ofMinutes(EnvConfig.getInt("BTS_HOLD_TTL_MINUTES", 15));
+    private static final long IDLE_NANOS =
+            Duration.ofMinutes(EnvConfig.getInt("BTS_SEAT_MAP_IDLE_MINUTES", 30)).toNanos();
+    private static final long MAX_AGE_NANOS =
+            Duration.ofSeconds(EnvConfig.getInt("BTS_SEAT_MAP_MAX_AGE_SECONDS", 30)).toNanos();
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private static final SeatInventory INSTANCE = new SeatInventory(
+            new SeatDAOImpl(DatabaseConnection.getDataSource()),
+            new BookingDAOImpl(DatabaseConnection.getDataSource()));
+
+    private final SeatDAO seatDAO;
+    private final BookingDAO bookingDAO;
+    private final ConcurrentHashMap<Long, TripSeatMap> trips = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Loading> loading = new ConcurrentHashMap<>();
+    private final DelayQueue<PendingHold> pendingHolds = new DelayQueue<>();
+
+    public SeatInventory(SeatDAO seatDAO, BookingDAO bookingDAO) {
+        this.seatDAO = seatDAO;
+        this.bookingDAO = bookingDAO;
+    }
+
+    public static SeatInventory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Whether the trip's map is in memory, i.e. reads of it will not touch the database.
+     */
+    public boolean isLoaded(Long tripId) {
+        return tripId != null && current(tripId) != null;
+    }
+
+    public List<Seat> getAvailableSeats(Long tripId) {
+        TripSeatMap map = load(tripId);
+        return map == null ? new ArrayList<>() : map.availableSeats();
+    }
+
+    public List<Long> getTakenSeatIds(Long tripId) {
+        TripSeatMap map = load(tripId);
+        return map == null ? new ArrayList<>() : map.takenSeatIds();
+    }
+
+    public int getAvailableSeatCount(Long tripId) {
+        TripSeatMap map = load(tripId);
+        return map == null ? 0 : map.availableCount();
+    }
+
+    /**
+     * Free-seat bitmaps for many trips at once. Loaded trips are answered from memory; the rest are read
+     * with one seat query and one booking query for all of them. Those are not cached here, because a
+     * booking committing meanwhile would miss them; the per-trip paths still load and cache them.
+     */
+    public Map<Long, SeatBitmap> getAvailability(List<Long> tripIds) {
+        Map<Long, SeatBitmap> bitmaps = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long tripId : tripIds) {
+            TripSeatMap map = tripId == null ? null : current(tripId);
+            if (map != null) {
+                map.touch();
+                bitmaps.put(tripId, map.bitmap());
+            } else if (tripId != null) {
+                missing.add(tripId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return bitmaps;
+        }
+        Map<Long, List<Seat>> seatsByTrip = seatDAO.findByTrips(missing);
+        Map<Long, List<BookingSeat>> rowsByTrip = bookingDAO.findActiveBookingSeats(missing, LocalDateTime.now());
+        for (Long tripId : missing) {
+            List<Seat> seats = seatsByTrip.get(tripId);
+            if (seats != null && !seats.isEmpty()) {
+                TripSeatMap map = build(tripId, seats, rowsByTrip.getOrDefault(tripId, List.of()), null, false);
+                bitmaps.put(tripId, map.bitmap());
+            }
+        }
+        return bitmaps;
+    }
+
+    public SeatBitmap getBitmap(Long tripId) {
+        TripSeatMap map = load(tripId);
+        return map == null ? null : map.bitmap();
+    }
+
+    /**
+     * The seats that turned free or taken since {@code sinceVersion}, or null if the caller needs the full
+     * bitmap again because that version is unknown or too old.
+     */
+    public SeatDelta getChanges(Long tripId, long sinceVersion) {
+        TripSeatMap map = load(tripId);
+        return map == null ? null : map.changesSince(sinceVersion);
+    }
+
+    /**
+     * All seats of the trip's bus in ordinal order, i.e. the layout the bitmaps index into.
+     */
+    public List<Seat> getSeats(Long tripId) {
+        TripSeatMap map = load(tripId);
+        return map == null ? new ArrayList<>() : map.seats();
+    }
+
+    /**
+     * Reserves the seats in memory if they exist on the trip's bus and are all free.
+     *
+     * @return the hold, or null if a seat is unknown, repeated or already taken
+     */
+    public SeatHold hold(Long tripId, List<String> seatNumbers) {
+        TripSeatMap map = load(tripId);
+        if (map == null) {
+            return null;
+        }
+        int[] ordinals = map.resolve(seatNumbers);
+        if (ordinals == null || !map.tryHold(ordinals)) {
+            return null;
+        }
+        return new SeatHold(tripId, ordinals, map.seatIdsOf(ordinals), map);
+    }
+
+    /**
+     * Binds a hold to the booking that was committed for it, starting its expiry clock at the
+     * {@code hold_expires_at} stored with the booking, so this queue and the database sweep agree.
+     */
+    public void attach(SeatHold hold, Long bookingId, LocalDateTime holdExpiresAt) {
+        long expiresAt = holdExpiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        update(hold.getTripId(), map -> {
+            map.attach(bookingId, hold.ordinals(), false);
+            pendingHolds.add(new PendingHold(hold.getTripId(), bookingId, expiresAt));
+        });
+    }
+
+    /**
+     * Frees a hold whose booking was never committed. A map reloaded since the hold was taken does not
+     * contain it, and its bits may belong to bookings read from the database, so it is left alone.
+     */
+    public void release(SeatHold hold) {
+        update(hold.getTripId(), map -> {
+            if (map == hold.map()) {
+                map.release(hold.ordinals());
+            }
+        });
+    }
+
+    public void confirm(Long tripId, Long bookingId) {
+        update(tripId, map -> map.confirm(bookingId));
+    }
+
+    public void cancel(Long tripId, Long bookingId) {
+        update(tripId, map -> map.cancel(bookingId));
+    }
+
+    /**
+     * Waits up to {@code timeout} for holds whose expiry time has passed and returns at most {@code max}
+     * of them; empty if none fell due in time. Used by the sweeper thread only.
+     */
+    List<PendingHold> awaitExpiredHolds(int max, long timeout, TimeUnit unit) throws InterruptedException {
+        List<PendingHold> due = new ArrayList<>();
+        PendingHold first = pendingHolds.poll(timeout, unit);
+        if (first == null) {
+            return due;
+        }
+        due.add(first);
+        pendingHolds.drainTo(due, max - 1);
+        return due;
+    }
+
+    /**
+     * Drops the cached map so the next access reloads it, e.g. after the trip's bus changed.
+     */
+    public void invalidate(Long tripId) {
+        markLoadsStale(tripId);
+        trips.remove(tripId);
+    }
+
+    /**
+     * Drops maps that have not been read for the idle timeout; their pending holds stay queued and are
+     * expired through the database as before. Used by the sweeper thread only.
+     *
+     * @return the number of maps evicted
+     */
+    int evictIdle() {
+        long cutoff = System.nanoTime() - IDLE_NANOS;
+        int evicted = 0;
+        for (Map.Entry<Long, TripSeatMap> entry : trips.entrySet()) {
+            if (entry.getValue().idleSince(cutoff) && trips.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int getLoadedTripCount() {
+        return trips.size();
+    }
+
+    /**
+     * Applies a committed change to the trip's map if it is loaded. A load of the trip that is still running
+     * may have read the database before the change committed, so it is told to read again; the flag is raised
+     * before the map is looked up, so either the change lands on the installed map or the load retries.
+     */
+    private void update(Long tripId, Consumer<TripSeatMap> change) {
+        markLoadsStale(tripId);
+        trips.computeIfPresent(tripId, (id, map) -> {
+            change.accept(map);
+            return map;
+        });
+    }
+
+    private void markLoadsStale(Long tripId) {
+        Loading pending = loading.get(tripId);
+        if (pending != null) {
+            pending.markStale();
+        }
+    }
+
+    /**
+     * The cached map of the trip unless it is older than the maximum age.
+     */
+    private TripSeatMap current(Long tripId) {
+        TripSeatMap map = trips.get(tripId);
+        return map == null || map.loadedBefore(System.nanoTime() - MAX_AGE_NANOS) ? null : map;
+    }
+
+    /**
+     * Loads a trip's map on first use or once the cached one is too old, reading the database outside any
+     * map lock. Concurrent reads of a trip share one load. A load that a committed change overlapped reads
+     * again; after a few attempts the last read is returned without caching it.
+     */
+    private TripSeatMap load(Long tripId) {
+        if (tripId == null) {
+            return null;
+        }
+        TripSeatMap map = current(tripId);
+        if (map != null) {
+            map.touch();
+            return map;
+        }
+        Loading mine = new Loading();
+        Loading running = loading.putIfAbsent(tripId, mine);
+        if (running != null) {
+            return running.result.join();
+        }
+        try {
+            map = current(tripId);
+            for (int attempt = 1; map == null; attempt++) {
+                mine.reset();
+                TripSeatMap fresh = read(tripId, trips.get(tripId));
+                if (fresh == null || mine.install(trips, tripId, fresh) || attempt == MAX_LOAD_ATTEMPTS) {
+                    map = fresh;
+                    break;
+                }
+            }
+            mine.result.complete(map);
+            return map;
+        } catch (RuntimeException | Error e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(tripId, mine);
+        }
+    }
+
+    private TripSeatMap read(Long tripId, TripSeatMap previous) {
+        List<Seat> seats = seatDAO.findByTrip(tripId);
+        if (seats.isEmpty()) {
+            return null;
+        }
+        return build(tripId, seats, bookingDAO.findActiveBookingSeats(tripId, LocalDateTime.now()), previous, true);
+    }
+
+    /**
+     * A running first load of one trip.
+     */
+    private static final class Loading {
+        private final CompletableFuture<TripSeatMap> result = new CompletableFuture<>();
+        private boolean stale;
+
+        synchronized void markStale() {
+            stale = true;
+        }
+
+        synchronized void reset() {
+            stale = false;
+        }
+
+        /**
+         * Caches the map unless a change committed since this attempt started.
+         */
+        synchronized boolean install(ConcurrentHashMap<Long, TripSeatMap> trips, Long tripId, TripSeatMap map) {
+            if (stale) {
+                return false;
+            }
+            trips.put(tripId, map);
+            return true;
+        }
+    }
+
+    /**
+     * Builds a trip's map from its seats and active booking rows; {@code track} queues its pending holds
+     * for expiry, which only a map that is going into the cache needs, and skips those the map it replaces
+     * already queued.
+     */
+    private TripSeatMap build(Long tripId, List<Seat> seats, List<BookingSeat> rows, TripSeatMap previous,
+                              boolean track) {
+        TripSeatMap map = new TripSeatMap(tripId, seats);
+
+        Map<Long, List<Integer>> ordinalsByBooking = new HashMap<>();
+        Map<Long, BookingSeat> firstRowByBooking = new HashMap<>();
+        for (BookingSeat row : rows) {
+            int ordinal = map.ordinalOf(row.getSeatId());
+            if (ordinal < 0) {
+                continue;
+            }
+            ordinalsByBooking.computeIfAbsent(row.getBookingId(), id -> new ArrayList<>()).add(ordinal);
+            firstRowByBooking.putIfAbsent(row.getBookingId(), row);
+        }
+        for (Map.Entry<Long, List<Integer>> entry : ordinalsByBooking.entrySet()) {
+            BookingSeat row = firstRowByBooking.get(entry.getKey());
+            int[] ordinals = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            boolean isConfirmed = row.getStatus() == BookingStatus.CONFIRMED;
+            map.attach(entry.getKey(), ordinals, isConfirmed);
+            if (track && !isConfirmed && (previous == null || !previous.hasBooking(entry.getKey()))) {
+                long expiresAt = row.getHoldExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                pendingHolds.add(new PendingHold(tripId, entry.getKey(), expiresAt));
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,76 @@
+package com.busticket.inventory;
+
+import com.busticket.dao.TripInventoryDAO;
+import com.busticket.dao.impl.TripInventoryDAOImpl;
+import com.busticket.database.DatabaseConnection;
+import com.busticket.event.SeatCountEvents;
+import com.busticket.util.EnvConfig;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically recomputes the {@code trip_inventory} counters from {@code booking_seat}, correcting any
+ * drift left by a failed write or a manual data fix. Runs once at start-up and then on a fixed delay.
+ */
+public class TripInventoryRepairJob {
+    private static final long INTERVAL_MINUTES = EnvConfig.getInt("BTS_TRIP_INVENTORY_REPAIR_MINUTES", 60);
+
+    private final TripInventoryDAO tripInventoryDAO;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong rowsCorrected = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public TripInventoryRepairJob() {
+        this(new TripInventoryDAOImpl(DatabaseConnection.getDataSource()));
+    }
+
+    public TripInventoryRepairJob(TripInventoryDAO tripInventoryDAO) {
+        this.tripInventoryDAO = tripInventoryDAO;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trip-inventory-repair");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::repair, 0, INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public long getRunCount() {
+        return runs.get();
+    }
+
+    /**
+     * Rows affected by reconciliation so far, as MySQL reports them: 1 per inserted and 2 per corrected row.
+     */
+    public long getRowsCorrectedCount() {
+        return rowsCorrected.get();
+    }
+
+    private void repair() {
+        try {
+            int changed = tripInventoryDAO.reconcileAll();
+            runs.incrementAndGet();
+            if (changed > 0) {
+                rowsCorrected.addAndGet(changed);
+                SeatCountEvents.allSeatCountsChanged();
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.busticket.inventory;
+
+import com.busticket.model.Seat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seat occupancy of one trip as two bitsets over seat ordinals (the bus's seats ordered by seat id):
+ * {@code held} for pending bookings and {@code confirmed} for paid ones. All access is synchronized on the map.
+ * <p>
+ * Every seat that turns free or taken bumps the map's version and is written to a small ring of recent
+ * changes, so a client holding an older version can be sent just the seats that changed since. The version
+ * carries a per-map epoch in its high half, so versions from a map that was since reloaded never match.
+ * Epochs count up from a random per-process start, so versions from another server process, whether a
+ * restarted one or another node, do not match either.
+ */
+final class TripSeatMap {
+    private static final int CHANGE_LOG_SIZE = 256;
+    private static final long EPOCH_RANGE = Integer.MAX_VALUE;
+    private static final AtomicLong EPOCHS = new AtomicLong(ThreadLocalRandom.current().nextLong(EPOCH_RANGE));
+
+    private final Long tripId;
+    private final Long busId;
+    private final long[] seatIds;
+    private final String[] seatNumbers;
+    private final Map<String, Integer> ordinalByNumber;
+    private final Map<Long, Integer> ordinalBySeatId;
+    private final long[] held;
+    private final long[] confirmed;
+    private final Map<Long, Booking> bookings = new HashMap<>();
+    // Kept in 1..2^31-1 so versions stay positive; a client sends version 0 for "no map yet".
+    private final long epoch = (Math.floorMod(EPOCHS.incrementAndGet(), EPOCH_RANGE) + 1) << 32;
+    private final int[] changeLog = new int[CHANGE_LOG_SIZE];
+    private long version = epoch;
+    private final long loadedNanos = System.nanoTime();
+    private volatile long lastUsedNanos = loadedNanos;
+
+    TripSeatMap(Long tripId, List<Seat> seats) {
+        this.tripId = tripId;
+        this.busId = seats.get(0).getBusId();
+        this.seatIds = new long[seats.size()];
+        this.seatNumbers = new String[seats.size()];
+        this.ordinalByNumber = new HashMap<>(seats.size() * 2);
+        this.ordinalBySeatId = new HashMap<>(seats.size() * 2);
+        for (int i = 0; i < seats.size(); i++) {
+            seatIds[i] = seats.get(i).getSeatId();
+            seatNumbers[i] = seats.get(i).getSeatNumber();
+            ordinalByNumber.put(seatNumbers[i], i);
+            ordinalBySeatId.put(seatIds[i], i);
+        }
+        int words = (seats.size() + 63) >>> 6;
+        this.held = new long[words];
+        this.confirmed = new long[words];
+    }
+
+    void touch() {
+        lastUsedNanos = System.nanoTime();
+    }
+
+    boolean idleSince(long nanos) {
+        return lastUsedNanos - nanos < 0;
+    }
+
+    boolean loadedBefore(long nanos) {
+        return loadedNanos - nanos < 0;
+    }
+
+    synchronized boolean hasBooking(Long bookingId) {
+        return bookings.containsKey(bookingId);
+    }
+
+    int seatCount() {
+        return seatIds.length;
+    }
+
+    synchronized int ordinalOf(long seatId) {
+        Integer ordinal = ordinalBySeatId.get(seatId);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Maps seat numbers to ordinals, or returns null if a number is unknown or repeated.
+     */
+    synchronized int[] resolve(List<String> numbers) {
+        int[] ordinals = new int[numbers.size()];
+        long[] seen = new long[held.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            Integer ordinal = ordinalByNumber.get(numbers.get(i));
+            if (ordinal == null || isSet(seen, ordinal)) {
+                return null;
+            }
+            set(seen, ordinal);
+            ordinals[i] = ordinal;
+        }
+        return ordinals;
+    }
+
+    synchronized long[] seatIdsOf(int[] ordinals) {
+        long[] ids = new long[ordinals.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            ids[i] = seatIds[ordinals[i]];
+        }
+        return ids;
+    }
+
+    /**
+     * Marks the seats held if every one of them is free; otherwise changes nothing.
+     */
+    synchronized boolean tryHold(int[] ordinals) {
+        for (int ordinal : ordinals) {
+            if (isSet(held, ordinal) || isSet(confirmed, ordinal)) {
+                return false;
+            }
+        }
+        for (int ordinal : ordinals) {
+            setTracked(held, ordinal);
+        }
+        return true;
+    }
+
+    synchronized void release(int[] ordinals) {
+        for (int ordinal : ordinals) {
+            clearTracked(held, ordinal);
+        }
+    }
+
+    synchronized void attach(Long bookingId, int[] ordinals, boolean isConfirmed) {
+        bookings.put(bookingId, new Booking(ordinals, isConfirmed));
+        for (int ordinal : ordinals) {
+            setTracked(isConfirmed ? confirmed : held, ordinal);
+        }
+    }
+
+    synchronized void confirm(Long bookingId) {
+        Booking booking = bookings.get(bookingId);
+        if (booking == null || booking.confirmed) {
+            return;
+        }
+        booking.confirmed = true;
+        for (int ordinal : booking.ordinals) {
+            set(confirmed, ordinal);
+            clear(held, ordinal);
+        }
+    }
+
+    synchronized void cancel(Long bookingId) {
+        Booking booking = bookings.remove(bookingId);
+        if (booking == null) {
+            return;
+        }
+        for (int ordinal : booking.ordinals) {
+            clearTracked(booking.confirmed ? confirmed : held, ordinal);
+        }
+    }
+
+    synchronized int availableCount() {
+        int taken = 0;
+        for (int i = 0; i < held.length; i++) {
+            taken += Long.bitCount(held[i] | confirmed[i]);
+        }
+        return seatIds.length - taken;
+    }
+
+    synchronized SeatBitmap bitmap() {
+        long[] available = new long[held.length];
+        for (int w = 0; w < held.length; w++) {
+            available[w] = ~(held[w] | confirmed[w]) & validBits(w);
+        }
+        return new SeatBitmap(tripId, busId, version, seatIds.length, available);
+    }
+
+    /**
+     * The seats whose availability changed after {@code sinceVersion}, or null if that version is from another
+     * load of this trip, in the future, or older than the change log reaches back.
+     */
+    synchronized SeatDelta changesSince(long sinceVersion) {
+        if ((sinceVersion & 0xFFFFFFFF00000000L) != epoch || sinceVersion > version
+                || version - sinceVersion > CHANGE_LOG_SIZE) {
+            return null;
+        }
+        long[] touched = new long[held.length];
+        for (long v = sinceVersion + 1; v <= version; v++) {
+            set(touched, changeLog[(int) (v % CHANGE_LOG_SIZE)]);
+        }
+        int[] freed = new int[(int) (version - sinceVersion)];
+        int[] taken = new int[freed.length];
+        int freedCount = 0;
+        int takenCount = 0;
+        for (int w = 0; w < touched.length; w++) {
+            long bits = touched[w];
+            while (bits != 0) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (isFree(ordinal)) {
+                    freed[freedCount++] = ordinal;
+                } else {
+                    taken[takenCount++] = ordinal;
+                }
+            }
+        }
+        return new SeatDelta(tripId, sinceVersion, version,
+                Arrays.copyOf(freed, freedCount), Arrays.copyOf(taken, takenCount));
+    }
+
+    synchronized List<Seat> seats() {
+        List<Seat> seats = new ArrayList<>(seatIds.length);
+        for (int i = 0; i < seatIds.length; i++) {
+            Seat seat = new Seat();
+            seat.setSeatId(seatIds[i]);
+            seat.setBusId(busId);
+            seat.setSeatNumber(seatNumbers[i]);
+            seats.add(seat);
+        }
+        return seats;
+    }
+
+    synchronized List<Seat> availableSeats() {
+        List<Seat> seats = new ArrayList<>();
+        for (int w = 0; w < held.length; w++) {
+            long free = ~(held[w] | confirmed[w]) & validBits(w);
+            while (free != 0) {
+                int ordinal = (w << 6) + Long.numberOfTrailingZeros(free);
+                free &= free - 1;
+                Seat seat = new Seat();
+                seat.setSeatId(seatIds[ordinal]);
+                seat.setBusId(busId);
+                seat.setSeatNumber(seatNumbers[ordinal]);
+                seats.add(seat);
+            }
+        }
+        return seats;
+    }
+
+    synchronized List<Long> takenSeatIds() {
+        List<Long> ids = new ArrayList<>();
+        for (int w = 0; w < held.length; w++) {
+            long taken = held[w] | confirmed[w];
+            while (taken != 0) {
+                ids.add(seatIds[(w << 6) + Long.numberOfTrailingZeros(taken)]);
+                taken &= taken - 1;
+            }
+        }
+        return ids;
+    }
+
+    private boolean isFree(int ordinal) {
+        return !isSet(held, ordinal) && !isSet(confirmed, ordinal);
+    }
+
+    private void setTracked(long[] bits, int ordinal) {
+        boolean wasFree = isFree(ordinal);
+        set(bits, ordinal);
+        if (wasFree) {
+            recordChange(ordinal);
+        }
+    }
+
+    private void clearTracked(long[] bits, int ordinal) {
+        boolean wasFree = isFree(ordinal);
+        clear(bits, ordinal);
+        if (!wasFree && isFree(ordinal)) {
+            recordChange(ordinal);
+        }
+    }
+
+    private void recordChange(int ordinal) {
+        version++;
+        changeLog[(int) (version % CHANGE_LOG_SIZE)] = ordinal;
+    }
+
+    private long validBits(int word) {
+        int remaining = seatIds.length - (word << 6);
+        return remaining >= 64 ? -1L : (1L << remaining) - 1;
+    }
+
+    private static boolean isSet(long[] bits, int ordinal) {
+        return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    private static void set(long[] bits, int ordinal) {
+        bits[ordinal >>> 6] |= 1L << ordinal;
+    }
+
+    private static void clear(long[] bits, int ordinal) {
+        bits[ordinal >>> 6] &= ~(1L << ordinal);
+    }
+
+    @Override
+    public String toString() {
+        return "TripSeatMap{tripId=" + tripId + ", seats=" + seatIds.length + ", bookings=" + bookings.size() + "}";
+    }
+
+    private static final class Booking {
+        private final int[] ordinals;
+        private boolean confirmed;
+
+        private Booking(int[] ordinals, boolean confirmed) {
+            this.ordinals = ordinals;
+            this.confirmed = confirmed;
+        }
+    }
+}
@@ -11,6 +11,7 @@ public class Booking {
     private Long userId;
     private Long tripId;
     private LocalDateTime bookingDate;
+    private LocalDateTime holdExpiresAt;
     private double totalPrice;
     private String ticketCode;
     private BookingStatus status;
@@ -48,6 +49,14 @@ public class Booking {
         this.bookingDate = bookingDate;
     }
 
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
     public double getTotalPrice() {
         return totalPrice;
     }
@@ -0,0 +1,44 @@
+package com.busticket.model;
+
+import com.busticket.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public class BookingSeat {
+    private Long bookingId;
+    private Long seatId;
+    private BookingStatus status;
+    private LocalDateTime holdExpiresAt;
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public Long getSeatId() {
+        return seatId;
+    }
+
+    public void setSeatId(Long seatId) {
+        this.seatId = seatId;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+}
@@ -14,6 +14,11 @@ public class Trip {
     private LocalTime arrivalTime;
     private double price;
     private TripStatus status;
+    private String busNumber;
+    private String originCity;
+    private String destinationCity;
+    private int totalSeats;
+    private int availableSeats;
 
     public Long getTripId() {
         return tripId;
@@ -78,4 +83,44 @@ public class Trip {
     public void setStatus(TripStatus status) {
         this.status = status;
     }
+
+    public String getBusNumber() {
+        return busNumber;
+    }
+
+    public void setBusNumber(String busNumber) {
+        this.busNumber = busNumber;
+    }
+
+    public String getOriginCity() {
+        return originCity;
+    }
+
+    public void setOriginCity(String originCity) {
+        this.originCity = originCity;
+    }
+
+    public String getDestinationCity() {
+        return destinationCity;
+    }
+
+    public void setDestinationCity(String destinationCity) {
+        this.destinationCity = destinationCity;
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    public void setTotalSeats(int totalSeats) {
+        this.totalSeats = totalSeats;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(int availableSeats) {
+        this.availableSeats = availableSeats;
+    }
 }
@@ -0,0 +1,134 @@
+package com.busticket.model;
+
+import com.busticket.enums.BusType;
+import com.busticket.enums.TripSortKey;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Filters, sort order and seek position for one page of trip search. The {@code after*} fields hold the
+ * sort key of the last row of the previous page and are all null for the first page.
+ */
+public class TripSearchCriteria {
+    private String origin;
+    private String destination;
+    private LocalDate travelDate;
+    private LocalTime departureFrom;
+    private LocalTime departureTo;
+    private Double maxPrice;
+    private BusType busType;
+    private int minAvailableSeats;
+    private TripSortKey sortKey = TripSortKey.DEPARTURE_TIME;
+    private Double afterPrice;
+    private LocalTime afterDepartureTime;
+    private Long afterTripId;
+    private int limit;
+
+    public TripSearchCriteria() {
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    public void setTravelDate(LocalDate travelDate) {
+        this.travelDate = travelDate;
+    }
+
+    public LocalTime getDepartureFrom() {
+        return departureFrom;
+    }
+
+    public void setDepartureFrom(LocalTime departureFrom) {
+        this.departureFrom = departureFrom;
+    }
+
+    public LocalTime getDepartureTo() {
+        return departureTo;
+    }
+
+    public void setDepartureTo(LocalTime departureTo) {
+        this.departureTo = departureTo;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public BusType getBusType() {
+        return busType;
+    }
+
+    public void setBusType(BusType busType) {
+        this.busType = busType;
+    }
+
+    public int getMinAvailableSeats() {
+        return minAvailableSeats;
+    }
+
+    public void setMinAvailableSeats(int minAvailableSeats) {
+        this.minAvailableSeats = minAvailableSeats;
+    }
+
+    public TripSortKey getSortKey() {
+        return sortKey;
+    }
+
+    public void setSortKey(TripSortKey sortKey) {
+        this.sortKey = sortKey;
+    }
+
+    public Double getAfterPrice() {
+        return afterPrice;
+    }
+
+    public void setAfterPrice(Double afterPrice) {
+        this.afterPrice = afterPrice;
+    }
+
+    public LocalTime getAfterDepartureTime() {
+        return afterDepartureTime;
+    }
+
+    public void setAfterDepartureTime(LocalTime afterDepartureTime) {
+        this.afterDepartureTime = afterDepartureTime;
+    }
+
+    public Long getAfterTripId() {
+        return afterTripId;
+    }
+
+    public void setAfterTripId(Long afterTripId) {
+        this.afterTripId = afterTripId;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
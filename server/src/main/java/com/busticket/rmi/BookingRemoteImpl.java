@@ -1,34 +1,86 @@
 package com.busticket.rmi;
 
 import com.busticket.dto.BookingDTO;
+import com.busticket.dto.SeatAvailabilityDTO;
+import com.busticket.dto.SeatDTO;
+import com.busticket.dto.SeatLayoutDTO;
+import com.busticket.dto.SeatMapDTO;
+import com.busticket.inventory.SeatInventory;
 import com.busticket.remote.BookingRemote;
+import com.busticket.remote.SeatChangeListener;
 import com.busticket.service.BookingService;
 import com.busticket.service.impl.BookingServiceImpl;
 
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 public class BookingRemoteImpl extends UnicastRemoteObject implements BookingRemote {
-
     private final BookingService bookingService;
+    private final ServiceDispatcher dispatcher = new ServiceDispatcher("booking");
 
     public BookingRemoteImpl() throws RemoteException {
+        super(0, RemoteExports.CLIENT_SOCKETS, RemoteExports.SERVER_SOCKETS);
         bookingService = new BookingServiceImpl();
     }
 
     @Override
     public BookingDTO createBooking(BookingDTO dto) throws RemoteException {
-        return null;
+        return dispatcher.call(() -> bookingService.createBooking(dto));
     }
 
     @Override
     public boolean confirmBooking(Long bookingId) throws RemoteException {
-        return false;
+        return dispatcher.call(() -> bookingService.confirmBooking(bookingId));
     }
 
     @Override
     public List<Long> getBookedSeatIds(Long tripId) throws RemoteException {
-        return List.of();
+        return seatRead(tripId, () -> bookingService.getBookedSeatIds(tripId));
+    }
+
+    @Override
+    public List<SeatDTO> getAvailableSeats(Long tripId) throws RemoteException {
+        return seatRead(tripId, () -> bookingService.getAvailableSeats(tripId));
+    }
+
+    @Override
+    public List<SeatAvailabilityDTO> getSeatAvailability(List<Long> tripIds) throws RemoteException {
+        return dispatcher.call(() -> bookingService.getSeatAvailability(tripIds));
+    }
+
+    @Override
+    public SeatLayoutDTO getSeatLayout(Long tripId) throws RemoteException {
+        return seatRead(tripId, () -> bookingService.getSeatLayout(tripId));
+    }
+
+    @Override
+    public SeatMapDTO getSeatMap(Long tripId, long sinceVersion) throws RemoteException {
+        return seatRead(tripId, () -> bookingService.getSeatMap(tripId, sinceVersion));
+    }
+
+    @Override
+    public SeatMapDTO subscribeSeatChanges(Long tripId, SeatChangeListener listener) throws RemoteException {
+        return seatRead(tripId, () -> SeatChangePublisher.getInstance().subscribe(tripId, listener));
+    }
+
+    @Override
+    public void unsubscribeSeatChanges(Long tripId, SeatChangeListener listener) throws RemoteException {
+        dispatcher.callInMemory(() -> {
+            SeatChangePublisher.getInstance().unsubscribe(tripId, listener);
+            return null;
+        });
+    }
+
+    /**
+     * Seat reads are answered from the trip's in-memory map once it is loaded; only the read that loads it
+     * goes to the database and needs a slot.
+     */
+    private <T> T seatRead(Long tripId, Callable<T> work) throws RemoteException {
+        if (SeatInventory.getInstance().isLoaded(tripId)) {
+            return dispatcher.callInMemory(work);
+        }
+        return dispatcher.call(work);
     }
 }
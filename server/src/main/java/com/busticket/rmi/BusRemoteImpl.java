@@ -11,28 +11,30 @@ import java.util.List;
 
 public class BusRemoteImpl extends UnicastRemoteObject implements BusRemote {
     private BusService busService;
+    private final ServiceDispatcher dispatcher = new ServiceDispatcher("bus");
 
     public BusRemoteImpl() throws RemoteException {
+        super(0, RemoteExports.CLIENT_SOCKETS, RemoteExports.SERVER_SOCKETS);
         busService = new BusServiceImpl();
     }
 
     @Override
     public boolean saveBus(BusDTO dto) throws RemoteException {
-        return busService.save(dto);
+        return dispatcher.call(() -> busService.save(dto));
     }
 
     @Override
     public boolean updateBus(BusDTO dto) throws RemoteException {
-        return busService.update(dto);
+        return dispatcher.call(() -> busService.update(dto));
     }
 
     @Override
     public boolean deleteBus(Long id) throws RemoteException {
-        return busService.delete(id);
+        return dispatcher.call(() -> busService.delete(id));
     }
 
     @Override
     public List<BusDTO> getAllBuses() throws RemoteException {
-        return busService.getAll();
+        return dispatcher.call(() -> busService.getAll());
     }
 }
@@ -1,5 +1,6 @@
 package com.busticket.rmi;
 
+import com.busticket.dto.PaymentDTO;
 import com.busticket.remote.PaymentRemote;
 import com.busticket.service.PaymentService;
 import com.busticket.service.impl.PaymentServiceImpl;
@@ -9,8 +10,15 @@ import java.rmi.server.UnicastRemoteObject;
 
 public class PaymentRemoteImpl extends UnicastRemoteObject implements PaymentRemote {
     private PaymentService paymentService;
+    private final ServiceDispatcher dispatcher = new ServiceDispatcher("payment");
 
     public PaymentRemoteImpl() throws RemoteException{
+        super(0, RemoteExports.CLIENT_SOCKETS, RemoteExports.SERVER_SOCKETS);
         paymentService = new PaymentServiceImpl();
     }
+
+    @Override
+    public PaymentDTO makePayment(Long bookingId, String paymentMethod, double paidAmount) throws RemoteException {
+        return dispatcher.call(() -> paymentService.makePayment(bookingId, paymentMethod, paidAmount));
+    }
 }
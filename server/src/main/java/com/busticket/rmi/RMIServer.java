@@ -1,10 +1,27 @@
 package com.busticket.rmi;
 
+import com.busticket.cache.AdvertisedTripsSnapshot;
+import com.busticket.cache.TripSearchCache;
+import com.busticket.database.DatabaseConnection;
+import com.busticket.event.SeatCountEvents;
+import com.busticket.index.RouteIndex;
+import com.busticket.inventory.HoldExpirySweeper;
+import com.busticket.inventory.TripInventoryRepairJob;
+import com.busticket.search.FareCalendar;
+import com.busticket.service.impl.BookingServiceImpl;
+
 import java.rmi.Naming;
 import java.rmi.registry.LocateRegistry;
 
 public class RMIServer {
     public static void main(String[] args) throws Exception {
+        // Derived views are wired before any service is reachable, so no committed change is missed.
+        SeatCountEvents.register(TripSearchCache.getInstance());
+        SeatCountEvents.register(FareCalendar.getInstance());
+        SeatCountEvents.register(AdvertisedTripsSnapshot.getInstance());
+        SeatCountEvents.register(SeatChangePublisher.getInstance());
+        RouteIndex.getInstance().refresh();
+
         LocateRegistry.createRegistry(1099);
         Naming.rebind("rmi://localhost/UserService", new UserRemoteImpl());
         Naming.rebind("rmi://localhost/RouteService", new RouteRemoteImpl());
@@ -13,6 +30,24 @@ public class RMIServer {
         Naming.rebind("rmi://localhost/BookingService", new BookingRemoteImpl());
         Naming.rebind("rmi://localhost/PaymentService", new PaymentRemoteImpl());
 
+        HoldExpirySweeper holdExpirySweeper = new HoldExpirySweeper();
+        holdExpirySweeper.start();
+        TripInventoryRepairJob tripInventoryRepairJob = new TripInventoryRepairJob();
+        tripInventoryRepairJob.start();
+        AdvertisedTripsSnapshot.getInstance().start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            SeatChangePublisher.getInstance().stop();
+            AdvertisedTripsSnapshot.getInstance().stop();
+            tripInventoryRepairJob.stop();
+            holdExpirySweeper.stop();
+            System.out.println(TripSearchCache.getInstance().metricsSummary());
+            System.out.println(SeatChangePublisher.getInstance().metricsSummary());
+            System.out.println(BookingServiceImpl.getTripLocks().metricsSummary("bookingTripLocks"));
+            System.out.println(DatabaseConnection.getPool().metricsSummary());
+            DatabaseConnection.getPool().close();
+        }));
+
         System.out.println("RMI Server Running on port 1099...");
     }
 }
@@ -0,0 +1,17 @@
+package com.busticket.rmi;
+
+import com.busticket.net.SocketSettings;
+import com.busticket.net.TunedClientSocketFactory;
+import com.busticket.net.TunedServerSocketFactory;
+
+/**
+ * Socket factories every remote object is exported with, configured from the server's environment.
+ * All objects share them, so RMI multiplexes their calls over the same listening port and connections.
+ */
+final class RemoteExports {
+    static final TunedServerSocketFactory SERVER_SOCKETS = new TunedServerSocketFactory(SocketSettings.fromEnvironment());
+    static final TunedClientSocketFactory CLIENT_SOCKETS = SERVER_SOCKETS.clientFactory();
+
+    private RemoteExports() {
+    }
+}
@@ -11,28 +11,45 @@ import java.util.List;
 
 public class RouteRemoteImpl extends UnicastRemoteObject implements RouteRemote {
     private final RouteService routeService ;
+    private final ServiceDispatcher dispatcher = new ServiceDispatcher("route");
 
    public RouteRemoteImpl() throws RemoteException{
+       super(0, RemoteExports.CLIENT_SOCKETS, RemoteExports.SERVER_SOCKETS);
        routeService = new RouteServiceImpl();
    }
 
     @Override
     public boolean saveRoute(RouteDTO dto) throws RemoteException {
-        return routeService.save(dto);
+        return dispatcher.call(() -> routeService.save(dto));
     }
 
     @Override
     public boolean updateRoute(RouteDTO dto) throws RemoteException {
-        return routeService.update(dto);
+        return dispatcher.call(() -> routeService.update(dto));
     }
 
     @Override
     public boolean deleteRoute(Long id) throws RemoteException {
-        return routeService.delete(id);
+        return dispatcher.call(() -> routeService.delete(id));
     }
 
     @Override
     public List<RouteDTO> getAllRoutes() throws RemoteException {
-        return routeService.getAll();
+        return dispatcher.call(() -> routeService.getAll());
+    }
+
+    @Override
+    public List<String> getOriginCities() throws RemoteException {
+        return dispatcher.callInMemory(() -> routeService.getOriginCities());
+    }
+
+    @Override
+    public List<String> getDestinationCities(String origin) throws RemoteException {
+        return dispatcher.callInMemory(() -> routeService.getDestinationCities(origin));
+    }
+
+    @Override
+    public List<String> autocompleteCities(String prefix, int limit) throws RemoteException {
+        return dispatcher.callInMemory(() -> routeService.autocompleteCities(prefix, limit));
     }
 }
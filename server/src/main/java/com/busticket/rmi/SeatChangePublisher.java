@@ -0,0 +1,244 @@
+package com.busticket.rmi;
+
+import com.busticket.dto.SeatMapDTO;
+import com.busticket.event.SeatCountEvents;
+import com.busticket.remote.SeatChangeListener;
+import com.busticket.service.BookingService;
+import com.busticket.service.impl.BookingServiceImpl;
+import com.busticket.util.EnvConfig;
+
+import java.rmi.RemoteException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes seat changes to clients subscribed to a trip, so seat pickers stop polling.
+ * <p>
+ * Committed seat changes only mark the trip dirty. A short coalescing window later, one delta since the
+ * last published version is built per dirty trip and offered to each of its subscribers, however many
+ * bookings landed meanwhile. Each subscriber has a bounded queue drained by one delivery task at a time;
+ * when a slow client's queue is full the oldest update is dropped, and the client notices the gap when the
+ * next delta does not apply. A listener whose callback fails is unsubscribed.
+ */
+public class SeatChangePublisher implements SeatCountEvents.Listener {
+    private static final long COALESCE_MILLIS = 50;
+    private static final int QUEUE_CAPACITY = EnvConfig.getInt("BTS_PUSH_QUEUE_CAPACITY", 32);
+    private static final int DELIVERY_THREADS = EnvConfig.getInt("BTS_PUSH_THREADS", 4);
+
+    private static final SeatChangePublisher INSTANCE = new SeatChangePublisher(new BookingServiceImpl());
+
+    private final BookingService bookingService;
+    private final Map<Long, List<Subscriber>> subscribersByTrip = new ConcurrentHashMap<>();
+    private final Map<Long, Long> publishedVersions = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyTrips = new LinkedHashSet<>();
+    private final ScheduledExecutorService coalescer = Executors.newSingleThreadScheduledExecutor(daemon("seat-push-coalescer"));
+    private final ExecutorService delivery = Executors.newFixedThreadPool(DELIVERY_THREADS, daemon("seat-push-delivery"));
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private boolean flushScheduled;
+
+    public SeatChangePublisher(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    public static SeatChangePublisher getInstance() {
+        return INSTANCE;
+    }
+
+    public SeatMapDTO subscribe(Long tripId, SeatChangeListener listener) {
+        if (tripId == null || listener == null) {
+            return null;
+        }
+        SeatMapDTO current = bookingService.getSeatMap(tripId, 0);
+        if (current == null) {
+            return null;
+        }
+        // The published version lives exactly as long as the trip has subscribers; both change under the
+        // trip's entry in subscribersByTrip.
+        subscribersByTrip.compute(tripId, (id, subscribers) -> {
+            List<Subscriber> list = subscribers != null ? subscribers : new CopyOnWriteArrayList<>();
+            publishedVersions.putIfAbsent(id, current.getVersion());
+            list.removeIf(subscriber -> subscriber.listener.equals(listener));
+            list.add(new Subscriber(id, listener));
+            return list;
+        });
+        return current;
+    }
+
+    public void unsubscribe(Long tripId, SeatChangeListener listener) {
+        if (tripId == null || listener == null) {
+            return;
+        }
+        subscribersByTrip.computeIfPresent(tripId, (id, subscribers) -> {
+            subscribers.removeIf(subscriber -> subscriber.listener.equals(listener));
+            if (subscribers.isEmpty()) {
+                publishedVersions.remove(id);
+                return null;
+            }
+            return subscribers;
+        });
+    }
+
+    @Override
+    public void seatsChanged(Long tripId, int availableDelta) {
+        if (availableDelta != 0 && subscribersByTrip.containsKey(tripId)) {
+            markDirty(List.of(tripId));
+        }
+    }
+
+    @Override
+    public void allSeatCountsChanged() {
+        markDirty(List.copyOf(subscribersByTrip.keySet()));
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getSubscribedTripCount() {
+        return subscribersByTrip.size();
+    }
+
+    public String metricsSummary() {
+        int subscribers = 0;
+        for (List<Subscriber> list : subscribersByTrip.values()) {
+            subscribers += list.size();
+        }
+        return String.format(Locale.ROOT, "seatChangePublisher trips=%d subscribers=%d published=%d dropped=%d",
+                subscribersByTrip.size(), subscribers, published.get(), dropped.get());
+    }
+
+    public void stop() {
+        coalescer.shutdownNow();
+        delivery.shutdownNow();
+    }
+
+    private void markDirty(List<Long> tripIds) {
+        if (tripIds.isEmpty()) {
+            return;
+        }
+        synchronized (dirtyTrips) {
+            dirtyTrips.addAll(tripIds);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        coalescer.schedule(this::flush, COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        List<Long> tripIds;
+        synchronized (dirtyTrips) {
+            tripIds = List.copyOf(dirtyTrips);
+            dirtyTrips.clear();
+            flushScheduled = false;
+        }
+        for (Long tripId : tripIds) {
+            try {
+                publish(tripId);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void publish(Long tripId) {
+        List<Subscriber> subscribers = subscribersByTrip.get(tripId);
+        if (subscribers == null) {
+            return;
+        }
+        long since = publishedVersions.getOrDefault(tripId, 0L);
+        SeatMapDTO update = bookingService.getSeatMap(tripId, since);
+        if (update == null || update.getVersion() == since) {
+            return;
+        }
+        // Only recorded while the trip still has subscribers, so an unsubscribe meanwhile leaves nothing behind.
+        if (subscribersByTrip.computeIfPresent(tripId, (id, list) -> {
+            publishedVersions.put(id, update.getVersion());
+            return list;
+        }) == null) {
+            return;
+        }
+        published.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(update);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+        private final Long tripId;
+        private final SeatChangeListener listener;
+        private final ArrayDeque<SeatMapDTO> queue = new ArrayDeque<>();
+        private boolean draining;
+
+        private Subscriber(Long tripId, SeatChangeListener listener) {
+            this.tripId = tripId;
+            this.listener = listener;
+        }
+
+        private void offer(SeatMapDTO update) {
+            synchronized (this) {
+                if (queue.size() >= QUEUE_CAPACITY) {
+                    queue.pollFirst();
+                    dropped.incrementAndGet();
+                }
+                queue.addLast(update);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            delivery.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                SeatMapDTO update;
+                synchronized (this) {
+                    update = queue.pollFirst();
+                    if (update == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    listener.seatsChanged(update);
+                } catch (RemoteException | RuntimeException e) {
+                    synchronized (this) {
+                        queue.clear();
+                        draining = false;
+                    }
+                    unsubscribe(tripId, listener);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.busticket.rmi;
+
+import com.busticket.exception.ServerBusyException;
+import com.busticket.util.EnvConfig;
+
+import java.rmi.RemoteException;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for one remote service. At most {@code maxConcurrent} database-bound calls run at a time,
+ * on the RMI connection thread that received them; further calls wait up to {@code maxWaitMillis} for a slot,
+ * and no more than {@code maxQueued} may wait at once. A call that cannot get a slot fails fast with
+ * {@link ServerBusyException} instead of queueing for a pooled connection. Calls answered from memory go
+ * through {@link #callInMemory} and are not limited.
+ * <p>
+ * Limits are read per service from {@code BTS_<SERVICE>_MAX_CONCURRENT}, {@code _MAX_QUEUED} and
+ * {@code _MAX_WAIT_MS}, falling back to the {@code BTS_DISPATCH_*} defaults.
+ */
+public class ServiceDispatcher {
+    private final String service;
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final long maxWaitMillis;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ServiceDispatcher(String service) {
+        this(service,
+                limit(service, "MAX_CONCURRENT", 16),
+                limit(service, "MAX_QUEUED", 256),
+                limit(service, "MAX_WAIT_MS", 1_000));
+    }
+
+    public ServiceDispatcher(String service, int maxConcurrent, int maxQueued, long maxWaitMillis) {
+        this.service = service;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueued = maxQueued;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public <T> T call(Callable<T> work) throws RemoteException {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw busy();
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } finally {
+            queued.decrementAndGet();
+        }
+        if (!acquired) {
+            throw busy();
+        }
+        try {
+            return run(work);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Runs a call that is answered from memory without taking a slot. It holds no pooled connection, so
+     * limiting it would only queue cheap reads behind database work.
+     */
+    public <T> T callInMemory(Callable<T> work) throws RemoteException {
+        return run(work);
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private <T> T run(Callable<T> work) throws RemoteException {
+        try {
+            return work.call();
+        } catch (RemoteException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RemoteException(service + " call failed", e);
+        }
+    }
+
+    private ServerBusyException busy() {
+        rejected.incrementAndGet();
+        return new ServerBusyException(service, maxWaitMillis);
+    }
+
+    private static int limit(String service, String name, int defaultValue) {
+        String prefix = "BTS_" + service.toUpperCase(Locale.ROOT) + "_";
+        return EnvConfig.getInt(prefix + name, EnvConfig.getInt("BTS_DISPATCH_" + name, defaultValue));
+    }
+}
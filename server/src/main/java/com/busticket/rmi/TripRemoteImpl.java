@@ -1,6 +1,10 @@
 package com.busticket.rmi;
 
+import com.busticket.dto.FareDayDTO;
+import com.busticket.dto.ItineraryDTO;
 import com.busticket.dto.TripDTO;
+import com.busticket.dto.TripPageDTO;
+import com.busticket.dto.TripSearchRequest;
 import com.busticket.remote.TripRemote;
 import com.busticket.service.TripService;
 import com.busticket.service.impl.TripServiceImpl;
@@ -8,38 +12,72 @@ import com.busticket.service.impl.TripServiceImpl;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 public class TripRemoteImpl extends UnicastRemoteObject implements TripRemote {
-
     private final TripService tripService;
+    private final ServiceDispatcher dispatcher = new ServiceDispatcher("trip");
 
     public TripRemoteImpl() throws RemoteException {
+        super(0, RemoteExports.CLIENT_SOCKETS, RemoteExports.SERVER_SOCKETS);
         tripService  = new TripServiceImpl();
     }
 
     @Override
     public boolean saveTrip(TripDTO dto) throws RemoteException {
-        return tripService.save(dto);
+        return dispatcher.call(() -> tripService.save(dto));
     }
 
     @Override
     public boolean updateTrip(TripDTO dto) throws RemoteException {
-        return false;
+        return dispatcher.call(() -> tripService.update(dto));
     }
 
     @Override
     public boolean deleteTrip(Long id) throws RemoteException {
-        return false;
+        return dispatcher.call(() -> tripService.delete(id));
     }
 
     @Override
     public List<TripDTO> getAllTrips() throws RemoteException {
-        return List.of();
+        return dispatcher.call(() -> tripService.getAll());
     }
 
     @Override
     public List<TripDTO> searchTrips(String origin, String destination, LocalDate date) throws RemoteException {
-        return tripService.search(origin, destination, date);
+        return dispatcher.call(() -> tripService.search(origin, destination, date));
+    }
+
+    @Override
+    public TripPageDTO searchTripsPage(TripSearchRequest request) throws RemoteException {
+        return dispatcher.call(() -> tripService.searchPage(request));
+    }
+
+    @Override
+    public List<TripDTO> getAdvertisedTrips() throws RemoteException {
+        return dispatcher.callInMemory(() -> tripService.getAdvertised());
+    }
+
+    @Override
+    public byte[] getAdvertisedTripsBytes() throws RemoteException {
+        return dispatcher.callInMemory(() -> tripService.getAdvertisedBytes());
+    }
+
+    @Override
+    public List<TripDTO> searchTripsClosest(String origin, String destination, LocalDate date, int limit)
+            throws RemoteException {
+        return dispatcher.call(() -> tripService.searchClosest(origin, destination, date, limit));
+    }
+
+    @Override
+    public List<FareDayDTO> getFareCalendar(String origin, String destination, YearMonth month) throws RemoteException {
+        return dispatcher.call(() -> tripService.getFareCalendar(origin, destination, month));
+    }
+
+    @Override
+    public List<ItineraryDTO> searchConnections(String origin, String destination, LocalDate date, int maxTransfers)
+            throws RemoteException {
+        return dispatcher.call(() -> tripService.searchConnections(origin, destination, date, maxTransfers));
     }
 }
@@ -11,38 +11,40 @@ import java.util.List;
 
 public class UserRemoteImpl extends UnicastRemoteObject implements UserRemote {
     private final UserService userService;
+    private final ServiceDispatcher dispatcher = new ServiceDispatcher("user");
 
     public  UserRemoteImpl() throws RemoteException{
+        super(0, RemoteExports.CLIENT_SOCKETS, RemoteExports.SERVER_SOCKETS);
         userService = new UserServiceImpl();
     }
 
     @Override
     public UserDTO login(String email, String password) throws RemoteException {
-        return userService.login(email, password);
+        return dispatcher.call(() -> userService.login(email, password));
     }
 
     @Override
     public boolean register(UserDTO user) throws RemoteException {
-        return userService.register(user);
+        return dispatcher.call(() -> userService.register(user));
     }
 
     @Override
     public UserDTO getUserById(Long userId) throws RemoteException {
-        return userService.getUserById(userId);
+        return dispatcher.call(() -> userService.getUserById(userId));
     }
 
     @Override
     public boolean updateUser(UserDTO user) throws RemoteException {
-        return userService.updateUser(user);
+        return dispatcher.call(() -> userService.updateUser(user));
     }
 
     @Override
     public boolean deleteUser(Long userId) throws RemoteException {
-        return userService.deleteUser(userId);
+        return dispatcher.call(() -> userService.deleteUser(userId));
     }
 
     @Override
     public List<UserDTO> getAllUsers() throws RemoteException {
-        return userService.getAllUsers();
+        return dispatcher.call(() -> userService.getAllUsers());
     }
 }
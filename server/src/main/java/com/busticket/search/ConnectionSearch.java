@@ -0,0 +1,204 @@
+package com.busticket.search;
+
+import com.busticket.dao.TripDAO;
+import com.busticket.dao.impl.TripDAOImpl;
+import com.busticket.database.DatabaseConnection;
+import com.busticket.model.Trip;
+import com.busticket.util.EnvConfig;
+import com.busticket.util.SingleFlight;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-leg trip search over an in-memory {@link Timetable}, connection-scan style.
+ * <p>
+ * For every trip leaving the origin on the requested date, the scan runs in rounds: round k relaxes every
+ * later departure that can be caught (arrival at its stop plus the minimum transfer time) from a stop
+ * reached with k legs. Each round is one linear pass over the time-sorted connections, so a search costs
+ * first-legs x rounds x connections comparisons and never touches the database. An itinerary with more
+ * legs is only kept if it arrives strictly earlier than one with fewer, and results are ranked by arrival,
+ * then transfers, then price.
+ * <p>
+ * Timetables are built per date from one query and rebuilt after a TTL or when trips are written, so seat
+ * availability in the results may lag by up to that TTL; booking re-checks it. At most
+ * {@code BTS_TIMETABLE_MAX_DATES} dates are kept, least recently searched first out.
+ */
+public class ConnectionSearch {
+    private static final ConnectionSearch INSTANCE = new ConnectionSearch(new TripDAOImpl(DatabaseConnection.getDataSource()));
+
+    private static final long MIN_TRANSFER_MINUTES = EnvConfig.getInt("BTS_MIN_TRANSFER_MINUTES", 30);
+    private static final long TIMETABLE_TTL_NANOS =
+            Duration.ofSeconds(EnvConfig.getInt("BTS_TIMETABLE_TTL_SECONDS", 60)).toNanos();
+    private static final int MAX_DATES = EnvConfig.getInt("BTS_TIMETABLE_MAX_DATES", 32);
+    private static final int MAX_LEGS = 4;
+    private static final int MAX_RESULTS = 20;
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    private final TripDAO tripDAO;
+    private final Map<LocalDate, Timetable> timetables = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, Timetable> eldest) {
+            return size() > MAX_DATES;
+        }
+    };
+    private final SingleFlight<LocalDate, Timetable> builds = new SingleFlight<>();
+
+    public ConnectionSearch(TripDAO tripDAO) {
+        this.tripDAO = tripDAO;
+    }
+
+    public static ConnectionSearch getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Itineraries from {@code origin} to {@code destination} whose first leg departs on {@code date},
+     * with at most {@code maxTransfers} changes of bus.
+     */
+    public List<Itinerary> search(String origin, String destination, LocalDate date, int maxTransfers) {
+        Timetable timetable = timetable(date);
+        int source = timetable.stopOf(origin);
+        int target = timetable.stopOf(destination);
+        if (source < 0 || target < 0 || source == target) {
+            return new ArrayList<>();
+        }
+        int maxLegs = Math.max(1, Math.min(MAX_LEGS, maxTransfers + 1));
+
+        Map<List<Long>, Itinerary> found = new LinkedHashMap<>();
+        long dayEnd = Timetable.toMinutes(date.plusDays(1));
+        for (int first = 0; first < timetable.trips.length && timetable.departure[first] < dayEnd; first++) {
+            if (timetable.from[first] != source) {
+                continue;
+            }
+            for (Itinerary itinerary : scanFrom(timetable, first, source, target, maxLegs)) {
+                found.putIfAbsent(tripIds(itinerary), itinerary);
+            }
+        }
+
+        List<Itinerary> ranked = new ArrayList<>(found.values());
+        ranked.sort(Comparator.comparing(Itinerary::arrival)
+                .thenComparingInt(Itinerary::transfers)
+                .thenComparingDouble(Itinerary::totalPrice)
+                .thenComparing(Itinerary::departure, Comparator.reverseOrder()));
+        return ranked.size() > MAX_RESULTS ? new ArrayList<>(ranked.subList(0, MAX_RESULTS)) : ranked;
+    }
+
+    /**
+     * Drops every cached timetable, e.g. after a trip was created, moved or closed.
+     */
+    public void invalidateAll() {
+        synchronized (timetables) {
+            timetables.clear();
+        }
+    }
+
+    /**
+     * Rounds of the scan with the first leg fixed. {@code reach[k][stop]} is the earliest arrival at the
+     * stop using at most k+1 legs; {@code via[k][stop]} the connection that achieved it and
+     * {@code round[k][stop]} the round in which that connection was taken.
+     */
+    private List<Itinerary> scanFrom(Timetable timetable, int first, int source, int target, int maxLegs) {
+        List<Itinerary> result = new ArrayList<>();
+        if (timetable.to[first] == target) {
+            result.add(build(timetable, List.of(first)));
+            return result;
+        }
+
+        int stops = timetable.stopCount();
+        long[][] reach = new long[maxLegs][stops];
+        int[][] via = new int[maxLegs][stops];
+        int[][] round = new int[maxLegs][stops];
+        Arrays.fill(reach[0], UNREACHED);
+        reach[0][timetable.to[first]] = timetable.arrival[first];
+        via[0][timetable.to[first]] = first;
+
+        long bestArrival = UNREACHED;
+        for (int k = 1; k < maxLegs; k++) {
+            long[] previous = reach[k - 1];
+            long[] current = reach[k];
+            System.arraycopy(previous, 0, current, 0, stops);
+            System.arraycopy(via[k - 1], 0, via[k], 0, stops);
+            System.arraycopy(round[k - 1], 0, round[k], 0, stops);
+
+            int start = timetable.firstDepartingAt(timetable.arrival[first] + MIN_TRANSFER_MINUTES);
+            for (int c = start; c < timetable.trips.length; c++) {
+                int from = timetable.from[c];
+                int to = timetable.to[c];
+                if (to == source || from == source || previous[from] == UNREACHED) {
+                    continue;
+                }
+                if (timetable.departure[c] >= previous[from] + MIN_TRANSFER_MINUTES
+                        && timetable.arrival[c] < current[to]) {
+                    current[to] = timetable.arrival[c];
+                    via[k][to] = c;
+                    round[k][to] = k;
+                }
+            }
+
+            if (current[target] < bestArrival) {
+                bestArrival = current[target];
+                result.add(build(timetable, legs(timetable, via, round, k, target)));
+            }
+        }
+        return result;
+    }
+
+    private static List<Integer> legs(Timetable timetable, int[][] via, int[][] round, int k, int target) {
+        List<Integer> legs = new ArrayList<>();
+        int stop = target;
+        int r = round[k][stop];
+        while (true) {
+            int connection = via[r][stop];
+            legs.add(0, connection);
+            if (r == 0) {
+                return legs;
+            }
+            // The leg was boarded at its origin stop as reached in the round before it was taken.
+            stop = timetable.from[connection];
+            r = round[r - 1][stop];
+        }
+    }
+
+    private static Itinerary build(Timetable timetable, List<Integer> connections) {
+        List<Trip> legs = new ArrayList<>(connections.size());
+        for (int c : connections) {
+            legs.add(timetable.trips[c]);
+        }
+        int first = connections.get(0);
+        int last = connections.get(connections.size() - 1);
+        return new Itinerary(legs, Timetable.toDateTime(timetable.departure[first]),
+                Timetable.toDateTime(timetable.arrival[last]));
+    }
+
+    private static List<Long> tripIds(Itinerary itinerary) {
+        List<Long> ids = new ArrayList<>(itinerary.legs().size());
+        for (Trip leg : itinerary.legs()) {
+            ids.add(leg.getTripId());
+        }
+        return ids;
+    }
+
+    private Timetable timetable(LocalDate date) {
+        Timetable timetable;
+        synchronized (timetables) {
+            timetable = timetables.get(date);
+        }
+        if (timetable != null && System.nanoTime() - timetable.builtAtNanos < TIMETABLE_TTL_NANOS) {
+            return timetable;
+        }
+        return builds.execute(date, () -> {
+            Timetable built = new Timetable(date, tripDAO.findTimetable(date, date.plusDays(1)));
+            synchronized (timetables) {
+                timetables.put(date, built);
+            }
+            return built;
+        });
+    }
+}
@@ -0,0 +1,300 @@
+package com.busticket.search;
+
+import com.busticket.dao.TripDAO;
+import com.busticket.dao.impl.TripDAOImpl;
+import com.busticket.database.DatabaseConnection;
+import com.busticket.event.SeatCountEvents;
+import com.busticket.model.Trip;
+import com.busticket.util.EnvConfig;
+import com.busticket.util.SingleFlight;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per route and month, the cheapest open fare and the free seats of each travel day, so a month grid
+ * is one lookup instead of a search per day. A route-month is read with one query on first use; after
+ * that seat-count events adjust it in place and trip writes drop it for a reload.
+ * <p>
+ * Loads run outside the monitor, so seat-count listeners never wait on a query. A load that overlaps a
+ * change to its own month or to one of its trips is returned but not kept. At most {@code maxMonths}
+ * route-months are kept, least recently used first out, and each is reloaded after {@code ttl}.
+ */
+public class FareCalendar implements SeatCountEvents.Listener {
+    private static final FareCalendar INSTANCE = new FareCalendar(new TripDAOImpl(DatabaseConnection.getDataSource()),
+            EnvConfig.getInt("BTS_FARE_CALENDAR_MAX_MONTHS", 2_000),
+            Duration.ofMinutes(EnvConfig.getInt("BTS_FARE_CALENDAR_TTL_MINUTES", 10)));
+
+    private final TripDAO tripDAO;
+    private final int maxMonths;
+    private final long ttlNanos;
+    private final LinkedHashMap<MonthKey, Month> months = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, MonthKey> monthByTrip = new HashMap<>();
+    private final SingleFlight<MonthKey, Month> flights = new SingleFlight<>();
+    // Changes are numbered; while loads are in flight the last number per month and per trip is kept, so a
+    // finishing load can tell whether what it read was changed after it started.
+    private long sequence;
+    private long allChangedAt;
+    private final Map<MonthKey, Long> monthChangedAt = new HashMap<>();
+    private final Map<Long, Long> tripChangedAt = new HashMap<>();
+    private final TreeMap<Long, Integer> loadsInFlight = new TreeMap<>();
+
+    public FareCalendar(TripDAO tripDAO, int maxMonths, Duration ttl) {
+        this.tripDAO = tripDAO;
+        this.maxMonths = maxMonths;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public static FareCalendar getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * One entry per day of the month, in date order; days without an open trip have a trip count of zero.
+     */
+    public List<FareDay> get(String origin, String destination, YearMonth month) {
+        MonthKey key = MonthKey.of(origin, destination, month);
+        synchronized (this) {
+            Month cached = months.get(key);
+            if (cached != null && System.nanoTime() - cached.loadedAt < ttlNanos) {
+                return summarize(cached, month);
+            }
+            if (cached != null) {
+                drop(key);
+            }
+        }
+        Month loaded = flights.execute(key, () -> load(key, origin, destination));
+        synchronized (this) {
+            return summarize(loaded, month);
+        }
+    }
+
+    /**
+     * Drops the month holding the trip and the month of its (new) date, so both reload on next use.
+     */
+    public synchronized void tripChanged(Long tripId, String origin, String destination, LocalDate travelDate) {
+        MonthKey current = monthByTrip.get(tripId);
+        recordChange(tripChangedAt, tripId);
+        drop(current);
+        if (origin != null && destination != null && travelDate != null) {
+            MonthKey target = MonthKey.of(origin, destination, YearMonth.from(travelDate));
+            recordChange(monthChangedAt, target);
+            drop(target);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        allChangedAt = ++sequence;
+        months.clear();
+        monthByTrip.clear();
+    }
+
+    @Override
+    public synchronized void seatsChanged(Long tripId, int availableDelta) {
+        if (availableDelta == 0) {
+            return;
+        }
+        recordChange(tripChangedAt, tripId);
+        MonthKey key = monthByTrip.get(tripId);
+        if (key == null) {
+            return;
+        }
+        for (Day day : months.get(key).days.values()) {
+            if (day.adjust(tripId, availableDelta)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void allSeatCountsChanged() {
+        invalidateAll();
+    }
+
+    public synchronized int size() {
+        return months.size();
+    }
+
+    private Month load(MonthKey key, String origin, String destination) {
+        long startSequence;
+        synchronized (this) {
+            startSequence = sequence;
+            loadsInFlight.merge(startSequence, 1, Integer::sum);
+        }
+        try {
+            TreeMap<LocalDate, Day> days = new TreeMap<>();
+            for (Trip trip : tripDAO.findByRouteBetween(origin, destination,
+                    key.month.atDay(1), key.month.atEndOfMonth())) {
+                days.computeIfAbsent(trip.getTravelDate(), d -> new Day())
+                        .put(trip.getTripId(), trip.getPrice(), trip.getAvailableSeats());
+            }
+            Month loaded = new Month(days, System.nanoTime());
+            synchronized (this) {
+                if (!changedSince(startSequence, key, loaded)) {
+                    put(key, loaded);
+                }
+            }
+            return loaded;
+        } finally {
+            synchronized (this) {
+                finishLoad(startSequence);
+            }
+        }
+    }
+
+    private List<FareDay> summarize(Month cached, YearMonth month) {
+        List<FareDay> result = new ArrayList<>(month.lengthOfMonth());
+        for (int d = 1; d <= month.lengthOfMonth(); d++) {
+            LocalDate date = month.atDay(d);
+            Day day = cached.days.get(date);
+            result.add(day == null ? new FareDay(date, 0, 0, 0) : day.summary(date));
+        }
+        return result;
+    }
+
+    private void put(MonthKey key, Month month) {
+        drop(key);
+        months.put(key, month);
+        for (Day day : month.days.values()) {
+            day.fares.keySet().forEach(tripId -> monthByTrip.put(tripId, key));
+        }
+        Iterator<Map.Entry<MonthKey, Month>> eldest = months.entrySet().iterator();
+        while (months.size() > maxMonths && eldest.hasNext()) {
+            Map.Entry<MonthKey, Month> victim = eldest.next();
+            eldest.remove();
+            unindex(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private void drop(MonthKey key) {
+        if (key == null) {
+            return;
+        }
+        Month month = months.remove(key);
+        if (month != null) {
+            unindex(key, month);
+        }
+    }
+
+    private void unindex(MonthKey key, Month month) {
+        for (Day day : month.days.values()) {
+            day.fares.keySet().forEach(tripId -> monthByTrip.remove(tripId, key));
+        }
+    }
+
+    private <K> void recordChange(Map<K, Long> stamps, K id) {
+        sequence++;
+        if (!loadsInFlight.isEmpty()) {
+            stamps.put(id, sequence);
+        }
+    }
+
+    private boolean changedSince(long startSequence, MonthKey key, Month month) {
+        if (allChangedAt > startSequence || monthChangedAt.getOrDefault(key, 0L) > startSequence) {
+            return true;
+        }
+        if (tripChangedAt.isEmpty()) {
+            return false;
+        }
+        for (Day day : month.days.values()) {
+            for (Long tripId : day.fares.keySet()) {
+                if (tripChangedAt.getOrDefault(tripId, 0L) > startSequence) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets changes that no load still in flight started before.
+     */
+    private void finishLoad(long startSequence) {
+        loadsInFlight.computeIfPresent(startSequence, (seq, count) -> count == 1 ? null : count - 1);
+        if (loadsInFlight.isEmpty()) {
+            monthChangedAt.clear();
+            tripChangedAt.clear();
+            return;
+        }
+        long oldest = loadsInFlight.firstKey();
+        monthChangedAt.values().removeIf(stamp -> stamp <= oldest);
+        tripChangedAt.values().removeIf(stamp -> stamp <= oldest);
+    }
+
+    public record FareDay(LocalDate date, double minPrice, int availableSeats, int tripCount) {
+    }
+
+    private record Month(TreeMap<LocalDate, Day> days, long loadedAt) {
+    }
+
+    private record MonthKey(String origin, String destination, YearMonth month) {
+        static MonthKey of(String origin, String destination, YearMonth month) {
+            return new MonthKey(origin.trim().toLowerCase(Locale.ROOT), destination.trim().toLowerCase(Locale.ROOT), month);
+        }
+    }
+
+    /**
+     * Fares of one travel day; the aggregate is recomputed on every change, which touches a handful of trips.
+     */
+    private static final class Day {
+        private final Map<Long, Fare> fares = new HashMap<>();
+        private double minPrice;
+        private int availableSeats;
+
+        void put(Long tripId, double price, int available) {
+            fares.put(tripId, new Fare(price, available));
+            recompute();
+        }
+
+        boolean adjust(Long tripId, int delta) {
+            Fare fare = fares.get(tripId);
+            if (fare == null) {
+                return false;
+            }
+            fare.available = Math.max(0, fare.available + delta);
+            recompute();
+            return true;
+        }
+
+        FareDay summary(LocalDate date) {
+            return new FareDay(date, minPrice, availableSeats, fares.size());
+        }
+
+        /**
+         * Cheapest trip with a free seat; if the day is sold out, the cheapest trip at all.
+         */
+        private void recompute() {
+            double cheapestOpen = Double.MAX_VALUE;
+            double cheapest = Double.MAX_VALUE;
+            int seats = 0;
+            for (Fare fare : fares.values()) {
+                cheapest = Math.min(cheapest, fare.price);
+                if (fare.available > 0) {
+                    cheapestOpen = Math.min(cheapestOpen, fare.price);
+                    seats += fare.available;
+                }
+            }
+            minPrice = cheapestOpen != Double.MAX_VALUE ? cheapestOpen : cheapest == Double.MAX_VALUE ? 0 : cheapest;
+            availableSeats = seats;
+        }
+    }
+
+    private static final class Fare {
+        private final double price;
+        private int available;
+
+        private Fare(double price, int available) {
+            this.price = price;
+            this.available = available;
+        }
+    }
+}
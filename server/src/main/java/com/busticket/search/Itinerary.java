@@ -0,0 +1,23 @@
+package com.busticket.search;
+
+import com.busticket.model.Trip;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One journey found by {@link ConnectionSearch}: its trips in travel order.
+ */
+public record Itinerary(List<Trip> legs, LocalDateTime departure, LocalDateTime arrival) {
+    public int transfers() {
+        return legs.size() - 1;
+    }
+
+    public double totalPrice() {
+        double total = 0;
+        for (Trip leg : legs) {
+            total += leg.getPrice();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,125 @@
+package com.busticket.search;
+
+import com.busticket.model.Trip;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Departures of one travel date and the day after, flattened into parallel arrays sorted by departure
+ * time. Each trip is one connection between two stops (cities). Times are minutes since the epoch so the
+ * scan compares longs only. Trips without a free seat are left out. Immutable once built.
+ */
+final class Timetable {
+    final LocalDate date;
+    final long builtAtNanos;
+    final int[] from;
+    final int[] to;
+    final long[] departure;
+    final long[] arrival;
+    final Trip[] trips;
+    private final Map<String, Integer> stopByCity = new HashMap<>();
+    private int stopCount;
+
+    Timetable(LocalDate date, List<Trip> candidates) {
+        this.date = date;
+        this.builtAtNanos = System.nanoTime();
+
+        List<Trip> usable = new ArrayList<>();
+        for (Trip trip : candidates) {
+            if (trip.getAvailableSeats() > 0) {
+                usable.add(trip);
+            }
+        }
+        usable.sort(Comparator.comparingLong(Timetable::departureMinutes));
+
+        int n = usable.size();
+        this.from = new int[n];
+        this.to = new int[n];
+        this.departure = new long[n];
+        this.arrival = new long[n];
+        this.trips = usable.toArray(new Trip[0]);
+        for (int i = 0; i < n; i++) {
+            Trip trip = trips[i];
+            from[i] = stop(trip.getOriginCity(), true);
+            to[i] = stop(trip.getDestinationCity(), true);
+            departure[i] = departureMinutes(trip);
+            arrival[i] = arrivalMinutes(trip);
+        }
+    }
+
+    int stopCount() {
+        return stopCount;
+    }
+
+    /**
+     * @return the stop index of the city, or -1 if no usable trip touches it
+     */
+    int stopOf(String city) {
+        return stop(city, false);
+    }
+
+    /**
+     * Index of the first connection departing at or after {@code minutes}.
+     */
+    int firstDepartingAt(long minutes) {
+        int low = 0;
+        int high = departure.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departure[mid] < minutes) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static long toMinutes(LocalDate date) {
+        return minutes(date.atStartOfDay());
+    }
+
+    static LocalDateTime toDateTime(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private int stop(String city, boolean create) {
+        String key = city == null ? "" : city.trim().toLowerCase(Locale.ROOT);
+        Integer index = stopByCity.get(key);
+        if (index != null) {
+            return index;
+        }
+        if (!create) {
+            return -1;
+        }
+        stopByCity.put(key, stopCount);
+        return stopCount++;
+    }
+
+    private static long departureMinutes(Trip trip) {
+        return minutes(LocalDateTime.of(trip.getTravelDate(), trip.getDepartureTime()));
+    }
+
+    /**
+     * Arrival on the travel date, or the next day when the arrival clock time is not after departure.
+     */
+    private static long arrivalMinutes(Trip trip) {
+        LocalDateTime arrival = LocalDateTime.of(trip.getTravelDate(), trip.getArrivalTime());
+        if (!trip.getArrivalTime().isAfter(trip.getDepartureTime())) {
+            arrival = arrival.plusDays(1);
+        }
+        return minutes(arrival);
+    }
+
+    private static long minutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -0,0 +1,205 @@
+package com.busticket.search;
+
+import com.busticket.dao.TripDAO;
+import com.busticket.dao.impl.TripDAOImpl;
+import com.busticket.database.DatabaseConnection;
+import com.busticket.model.Trip;
+import com.busticket.util.SingleFlight;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per route (origin and destination city) sorted map of travel date to the ids of open trips on it.
+ * A closest-date lookup starts at the requested date and walks outward one date in each direction,
+ * always taking the nearer side, and stops once it has the requested number of trips, so it costs
+ * O(log dates + limit) however long the schedule is. Loaded from the database on first use and kept
+ * current by the trip service.
+ * <p>
+ * The load runs outside the monitor and is installed only if it succeeded and no trip was written while it
+ * read; otherwise the lookup comes back empty and the next one loads again. Dates before today are pruned
+ * on the first lookup of each day.
+ */
+public class TripDateIndex {
+    private static final TripDateIndex INSTANCE = new TripDateIndex(new TripDAOImpl(DatabaseConnection.getDataSource()));
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final TripDAO tripDAO;
+    private final SingleFlight<Boolean, Boolean> loads = new SingleFlight<>();
+    private Map<RouteKey, TreeMap<LocalDate, List<Long>>> datesByRoute;
+    private final Map<Long, Placement> placements = new HashMap<>();
+    private LocalDate prunedOn;
+    // Counts trip writes, so a load can tell whether one happened while it read the schedule.
+    private long changes;
+
+    public TripDateIndex(TripDAO tripDAO) {
+        this.tripDAO = tripDAO;
+    }
+
+    public static TripDateIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Ids of up to {@code limit} trips on the route whose dates are nearest to {@code date}, never before
+     * {@code notBefore}; ties between an earlier and a later date go to the earlier one.
+     */
+    public List<Long> closest(String origin, String destination, LocalDate date, LocalDate notBefore, int limit) {
+        if (limit <= 0 || !ensureLoaded()) {
+            return new ArrayList<>();
+        }
+        return lookup(RouteKey.of(origin, destination), date, notBefore, limit);
+    }
+
+    private synchronized List<Long> lookup(RouteKey route, LocalDate date, LocalDate notBefore, int limit) {
+        List<Long> ids = new ArrayList<>();
+        if (datesByRoute == null) {
+            // Invalidated since the load; the next lookup loads again.
+            return ids;
+        }
+        LocalDate today = LocalDate.now();
+        if (!today.equals(prunedOn)) {
+            pruneBefore(today);
+        }
+        TreeMap<LocalDate, List<Long>> dates = datesByRoute.get(route);
+        if (dates == null) {
+            return ids;
+        }
+        LocalDate lower = atOrAfter(dates.floorKey(date), notBefore);
+        LocalDate upper = dates.higherKey(date);
+        while (ids.size() < limit && (lower != null || upper != null)) {
+            if (upper == null || (lower != null
+                    && ChronoUnit.DAYS.between(lower, date) <= ChronoUnit.DAYS.between(date, upper))) {
+                ids.addAll(dates.get(lower));
+                lower = atOrAfter(dates.lowerKey(lower), notBefore);
+            } else {
+                ids.addAll(dates.get(upper));
+                upper = dates.higherKey(upper);
+            }
+        }
+        return ids.size() > limit ? new ArrayList<>(ids.subList(0, limit)) : ids;
+    }
+
+    public synchronized void add(Long tripId, String origin, String destination, LocalDate date) {
+        changes++;
+        if (datesByRoute == null) {
+            // Not loaded yet; the first lookup will read the trip from the database.
+            return;
+        }
+        place(tripId, origin, destination, date);
+    }
+
+    private void place(Long tripId, String origin, String destination, LocalDate date) {
+        unplace(tripId);
+        Placement placement = new Placement(RouteKey.of(origin, destination), date);
+        datesByRoute.computeIfAbsent(placement.route, k -> new TreeMap<>())
+                .computeIfAbsent(date, k -> new ArrayList<>())
+                .add(tripId);
+        placements.put(tripId, placement);
+    }
+
+    public synchronized void remove(Long tripId) {
+        changes++;
+        unplace(tripId);
+    }
+
+    private void unplace(Long tripId) {
+        Placement placement = placements.remove(tripId);
+        if (placement == null) {
+            return;
+        }
+        TreeMap<LocalDate, List<Long>> dates = datesByRoute.get(placement.route);
+        List<Long> ids = dates.get(placement.date);
+        ids.remove(tripId);
+        if (ids.isEmpty()) {
+            dates.remove(placement.date);
+            if (dates.isEmpty()) {
+                datesByRoute.remove(placement.route);
+            }
+        }
+    }
+
+    /**
+     * Forgets everything; the next lookup reloads. Used when route cities change.
+     */
+    public synchronized void invalidateAll() {
+        changes++;
+        datesByRoute = null;
+        placements.clear();
+    }
+
+    private boolean ensureLoaded() {
+        synchronized (this) {
+            if (datesByRoute != null) {
+                return true;
+            }
+        }
+        return loads.execute(Boolean.TRUE, this::load);
+    }
+
+    /**
+     * Reads the schedule without holding the monitor and installs it unless a trip was written meanwhile,
+     * in which case it reads again, a few times at most.
+     */
+    private boolean load() {
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            LocalDate today = LocalDate.now();
+            long startChanges;
+            synchronized (this) {
+                if (datesByRoute != null) {
+                    return true;
+                }
+                startChanges = changes;
+            }
+            List<Trip> schedule;
+            try {
+                schedule = tripDAO.findSchedule(today);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return false;
+            }
+            synchronized (this) {
+                if (changes != startChanges) {
+                    continue;
+                }
+                datesByRoute = new HashMap<>();
+                prunedOn = today;
+                for (Trip trip : schedule) {
+                    place(trip.getTripId(), trip.getOriginCity(), trip.getDestinationCity(), trip.getTravelDate());
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void pruneBefore(LocalDate today) {
+        for (TreeMap<LocalDate, List<Long>> dates : datesByRoute.values()) {
+            Map<LocalDate, List<Long>> past = dates.headMap(today);
+            past.values().forEach(ids -> ids.forEach(placements::remove));
+            past.clear();
+        }
+        datesByRoute.values().removeIf(Map::isEmpty);
+        prunedOn = today;
+    }
+
+    private static LocalDate atOrAfter(LocalDate date, LocalDate notBefore) {
+        return date == null || (notBefore != null && date.isBefore(notBefore)) ? null : date;
+    }
+
+    private record RouteKey(String origin, String destination) {
+        static RouteKey of(String origin, String destination) {
+            return new RouteKey(origin.trim().toLowerCase(Locale.ROOT), destination.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private record Placement(RouteKey route, LocalDate date) {
+    }
+}
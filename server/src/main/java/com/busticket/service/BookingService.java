@@ -1,4 +1,25 @@
 package com.busticket.service;
 
+import com.busticket.dto.BookingDTO;
+import com.busticket.dto.SeatAvailabilityDTO;
+import com.busticket.dto.SeatDTO;
+import com.busticket.dto.SeatLayoutDTO;
+import com.busticket.dto.SeatMapDTO;
+
+import java.util.List;
+
 public interface BookingService {
+    BookingDTO createBooking(BookingDTO dto);
+
+    boolean confirmBooking(Long bookingId);
+
+    List<Long> getBookedSeatIds(Long tripId);
+
+    List<SeatDTO> getAvailableSeats(Long tripId);
+
+    List<SeatAvailabilityDTO> getSeatAvailability(List<Long> tripIds);
+
+    SeatLayoutDTO getSeatLayout(Long tripId);
+
+    SeatMapDTO getSeatMap(Long tripId, long sinceVersion);
 }
@@ -1,4 +1,7 @@
 package com.busticket.service;
 
+import com.busticket.dto.PaymentDTO;
+
 public interface PaymentService {
+    PaymentDTO makePayment(Long bookingId, String paymentMethod, double paidAmount);
 }
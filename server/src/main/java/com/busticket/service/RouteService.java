@@ -12,4 +12,10 @@ public interface RouteService {
     boolean delete(Long id);
 
     List<RouteDTO> getAll();
+
+    List<String> getOriginCities();
+
+    List<String> getDestinationCities(String origin);
+
+    List<String> autocompleteCities(String prefix, int limit);
 }
@@ -1,8 +1,13 @@
 package com.busticket.service;
 
+import com.busticket.dto.FareDayDTO;
+import com.busticket.dto.ItineraryDTO;
 import com.busticket.dto.TripDTO;
+import com.busticket.dto.TripPageDTO;
+import com.busticket.dto.TripSearchRequest;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 public interface TripService {
@@ -15,4 +20,22 @@ public interface TripService {
     List<TripDTO> getAll();
 
     List<TripDTO> search(String origin, String destination, LocalDate date);
+
+    /**
+     * One page of filtered, sorted search results; continue with the returned page token.
+     */
+    TripPageDTO searchPage(TripSearchRequest request);
+
+    List<TripDTO> getAdvertised();
+
+    /**
+     * {@link #getAdvertised()} as the serialized {@code ArrayList<TripDTO>}, shared across callers.
+     */
+    byte[] getAdvertisedBytes();
+
+    List<TripDTO> searchClosest(String origin, String destination, LocalDate date, int limit);
+
+    List<FareDayDTO> getFareCalendar(String origin, String destination, YearMonth month);
+
+    List<ItineraryDTO> searchConnections(String origin, String destination, LocalDate date, int maxTransfers);
 }
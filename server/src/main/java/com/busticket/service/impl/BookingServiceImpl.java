@@ -1,16 +1,267 @@
 package com.busticket.service.impl;
 
 import com.busticket.dao.BookingDAO;
+import com.busticket.dao.TripDAO;
+import com.busticket.dao.TripInventoryDAO;
 import com.busticket.dao.impl.BookingDAOImpl;
+import com.busticket.dao.impl.TripDAOImpl;
+import com.busticket.dao.impl.TripInventoryDAOImpl;
 import com.busticket.database.DatabaseConnection;
+import com.busticket.database.TransactionManager;
+import com.busticket.dto.BookingDTO;
+import com.busticket.dto.SeatAvailabilityDTO;
+import com.busticket.dto.SeatDTO;
+import com.busticket.dto.SeatLayoutDTO;
+import com.busticket.dto.SeatMapDTO;
+import com.busticket.enums.BookingStatus;
+import com.busticket.enums.TripStatus;
+import com.busticket.event.SeatCountEvents;
+import com.busticket.inventory.SeatBitmap;
+import com.busticket.inventory.SeatDelta;
+import com.busticket.inventory.SeatHold;
+import com.busticket.inventory.SeatInventory;
+import com.busticket.model.Booking;
+import com.busticket.model.Seat;
+import com.busticket.model.Trip;
+import com.busticket.remote.BookingRemote;
 import com.busticket.service.BookingService;
+import com.busticket.util.StripedLock;
+import com.busticket.util.TicketCodeUtil;
 
-import javax.xml.crypto.Data;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class BookingServiceImpl implements BookingService {
+    private static final int TRIP_LOCK_STRIPES = 64;
+    private static final long TRIP_LOCK_TIMEOUT_MS = 2_000;
+    // Same-trip bookings queue here in memory before they take the trip row lock in the database. Trips are
+    // hashed onto a fixed number of stripes, so two different trips can share a stripe and wait on each other;
+    // the contention counts printed at shutdown show when that happens often enough to add stripes.
+    private static final StripedLock TRIP_LOCKS = new StripedLock(TRIP_LOCK_STRIPES);
+
     private final BookingDAO bookingDAO;
+    private final TripDAO tripDAO;
+    private final TripInventoryDAO tripInventoryDAO;
+    private final TransactionManager transactionManager;
+    private final SeatInventory seatInventory;
 
     public BookingServiceImpl(){
-        bookingDAO = new BookingDAOImpl(DatabaseConnection.getConnection());
+        bookingDAO = new BookingDAOImpl(DatabaseConnection.getDataSource());
+        tripDAO = new TripDAOImpl(DatabaseConnection.getDataSource());
+        tripInventoryDAO = new TripInventoryDAOImpl(DatabaseConnection.getDataSource());
+        transactionManager = DatabaseConnection.getTransactionManager();
+        seatInventory = SeatInventory.getInstance();
+    }
+
+    @Override
+    public BookingDTO createBooking(BookingDTO dto) {
+        if (dto == null || dto.getUserId() == null || dto.getTripId() == null
+                || dto.getSeatNumbers() == null || dto.getSeatNumbers().isEmpty()) {
+            return null;
+        }
+
+        ReentrantLock tripLock;
+        try {
+            tripLock = TRIP_LOCKS.tryLock(dto.getTripId(), TRIP_LOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (tripLock == null) {
+            return null;
+        }
+
+        // Seats are resolved and held in memory in one step as a fast pre-check. The database guard is the
+        // trip row lock and set-based seat conflict check, which also covers a reloaded map and bookings
+        // written by other server nodes; when it rejects seats the map pre-check let through, the map is out
+        // of date and is dropped so the next read reloads it.
+        // The transaction issues six statements whatever the seat count: trip lookup, trip lock, conflict
+        // check, booking insert, batched seat insert and counter update.
+        try {
+            return transactionManager.execute(() -> {
+                Trip trip = tripDAO.findById(dto.getTripId());
+                if (trip == null || trip.getStatus() != TripStatus.OPEN) {
+                    return null;
+                }
+
+                SeatHold hold = seatInventory.hold(trip.getTripId(), dto.getSeatNumbers());
+                if (hold == null) {
+                    return null;
+                }
+                transactionManager.afterRollback(() -> seatInventory.release(hold));
+                List<Long> seatIds = hold.getSeatIds();
+                // DATETIME keeps whole seconds; truncating here makes the in-memory expiry match the stored one.
+                LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+                if (!bookingDAO.lockFreeSeats(trip.getTripId(), seatIds, now)) {
+                    transactionManager.afterRollback(() -> seatInventory.invalidate(trip.getTripId()));
+                    transactionManager.setRollbackOnly();
+                    return null;
+                }
+
+                Booking booking = new Booking();
+                booking.setUserId(dto.getUserId());
+                booking.setTripId(trip.getTripId());
+                booking.setBookingDate(now);
+                booking.setHoldExpiresAt(now.plus(SeatInventory.HOLD_TTL));
+                booking.setTotalPrice(trip.getPrice() * seatIds.size());
+                booking.setTicketCode(TicketCodeUtil.generate());
+                booking.setStatus(BookingStatus.PENDING);
+                booking.setSeatNumbers(new ArrayList<>(dto.getSeatNumbers()));
+
+                Long bookingId = bookingDAO.createBooking(booking);
+                if (bookingId == null || !bookingDAO.insertBookingSeats(bookingId, seatIds)
+                        || !tripInventoryDAO.adjust(trip.getTripId(), seatIds.size(), 0)) {
+                    transactionManager.setRollbackOnly();
+                    return null;
+                }
+                booking.setBookingId(bookingId);
+                transactionManager.afterCommit(() -> {
+                    seatInventory.attach(hold, bookingId, booking.getHoldExpiresAt());
+                    SeatCountEvents.seatsChanged(trip.getTripId(), -seatIds.size());
+                });
+                return toDTO(booking);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            tripLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean confirmBooking(Long bookingId) {
+        if (bookingId == null) {
+            return false;
+        }
+        try {
+            return transactionManager.execute(() -> {
+                Booking booking = bookingDAO.findById(bookingId);
+                if (booking == null || booking.getStatus() != BookingStatus.PENDING) {
+                    return false;
+                }
+                if (!bookingDAO.transitionStatus(bookingId, BookingStatus.PENDING, BookingStatus.CONFIRMED)) {
+                    return false;
+                }
+                int seats = bookingDAO.countSeats(List.of(bookingId)).getOrDefault(bookingId, 0);
+                if (!tripInventoryDAO.adjust(booking.getTripId(), -seats, seats)) {
+                    transactionManager.setRollbackOnly();
+                    return false;
+                }
+                transactionManager.afterCommit(() -> {
+                    seatInventory.confirm(booking.getTripId(), bookingId);
+                    SeatCountEvents.seatsChanged(booking.getTripId(), 0);
+                });
+                return true;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public List<Long> getBookedSeatIds(Long tripId) {
+        if (tripId == null) {
+            return new ArrayList<>();
+        }
+        return seatInventory.getTakenSeatIds(tripId);
+    }
+
+    @Override
+    public List<SeatDTO> getAvailableSeats(Long tripId) {
+        List<SeatDTO> dtos = new ArrayList<>();
+        if (tripId == null) {
+            return dtos;
+        }
+        for (Seat seat : seatInventory.getAvailableSeats(tripId)) {
+            dtos.add(new SeatDTO(seat.getSeatId(), seat.getBusId(), seat.getSeatNumber()));
+        }
+        return dtos;
+    }
+
+    @Override
+    public List<SeatAvailabilityDTO> getSeatAvailability(List<Long> tripIds) {
+        List<SeatAvailabilityDTO> dtos = new ArrayList<>();
+        if (tripIds == null || tripIds.isEmpty()) {
+            return dtos;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(tripIds));
+        if (ids.size() > BookingRemote.MAX_AVAILABILITY_TRIPS) {
+            throw new IllegalArgumentException("At most " + BookingRemote.MAX_AVAILABILITY_TRIPS
+                    + " trips per availability request, got " + ids.size());
+        }
+        for (SeatBitmap bitmap : seatInventory.getAvailability(ids).values()) {
+            dtos.add(new SeatAvailabilityDTO(bitmap.tripId(), bitmap.busId(), bitmap.seatCount(), bitmap.available()));
+        }
+        return dtos;
+    }
+
+    @Override
+    public SeatLayoutDTO getSeatLayout(Long tripId) {
+        if (tripId == null) {
+            return null;
+        }
+        List<Seat> seats = seatInventory.getSeats(tripId);
+        if (seats.isEmpty()) {
+            return null;
+        }
+        long[] seatIds = new long[seats.size()];
+        String[] seatNumbers = new String[seats.size()];
+        for (int i = 0; i < seats.size(); i++) {
+            seatIds[i] = seats.get(i).getSeatId();
+            seatNumbers[i] = seats.get(i).getSeatNumber();
+        }
+        return new SeatLayoutDTO(seats.get(0).getBusId(), seatIds, seatNumbers);
+    }
+
+    @Override
+    public SeatMapDTO getSeatMap(Long tripId, long sinceVersion) {
+        if (tripId == null) {
+            return null;
+        }
+        SeatDelta delta = sinceVersion > 0 ? seatInventory.getChanges(tripId, sinceVersion) : null;
+        if (delta != null) {
+            SeatMapDTO dto = new SeatMapDTO();
+            dto.setTripId(tripId);
+            dto.setBaseVersion(delta.fromVersion());
+            dto.setVersion(delta.version());
+            dto.setFreedOrdinals(delta.freed());
+            dto.setTakenOrdinals(delta.taken());
+            return dto;
+        }
+        SeatBitmap bitmap = seatInventory.getBitmap(tripId);
+        if (bitmap == null) {
+            return null;
+        }
+        SeatMapDTO dto = new SeatMapDTO();
+        dto.setTripId(tripId);
+        dto.setLayoutId(bitmap.busId());
+        dto.setVersion(bitmap.version());
+        dto.setSeatCount(bitmap.seatCount());
+        dto.setAvailableBits(bitmap.available());
+        return dto;
+    }
+
+    public static StripedLock getTripLocks() {
+        return TRIP_LOCKS;
+    }
+
+    private BookingDTO toDTO(Booking booking) {
+        BookingDTO dto = new BookingDTO();
+        dto.setBookingId(booking.getBookingId());
+        dto.setUserId(booking.getUserId());
+        dto.setTripId(booking.getTripId());
+        dto.setSeatNumbers(new ArrayList<>(booking.getSeatNumbers()));
+        dto.setTotalPrice(booking.getTotalPrice());
+        dto.setTicketCode(booking.getTicketCode());
+        dto.setStatus(booking.getStatus() == null ? null : booking.getStatus().name());
+        return dto;
     }
 }
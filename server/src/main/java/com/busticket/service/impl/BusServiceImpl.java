@@ -16,7 +16,7 @@ public class BusServiceImpl implements BusService {
     private final BusDAO busDAO;
 
     public BusServiceImpl(){
-        busDAO = new BusDAOImpl(DatabaseConnection.getConnection());
+        busDAO = new BusDAOImpl(DatabaseConnection.getDataSource());
     }
     @Override
     public boolean save(BusDTO dto) {
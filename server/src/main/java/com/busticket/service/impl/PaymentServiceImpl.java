@@ -1,15 +1,133 @@
 package com.busticket.service.impl;
 
+import com.busticket.dao.BookingDAO;
 import com.busticket.dao.PaymentDAO;
+import com.busticket.dao.TripInventoryDAO;
+import com.busticket.dao.impl.BookingDAOImpl;
 import com.busticket.dao.impl.PaymentDAOImpl;
+import com.busticket.dao.impl.TripInventoryDAOImpl;
 import com.busticket.database.DatabaseConnection;
+import com.busticket.database.TransactionManager;
+import com.busticket.dto.PaymentDTO;
+import com.busticket.enums.BookingStatus;
+import com.busticket.enums.PaymentMethod;
+import com.busticket.enums.PaymentStatus;
+import com.busticket.event.SeatCountEvents;
+import com.busticket.inventory.SeatInventory;
+import com.busticket.model.Booking;
+import com.busticket.model.Payment;
 import com.busticket.service.PaymentService;
 
-public class PaymentServiceImpl implements PaymentService {
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 
+public class PaymentServiceImpl implements PaymentService {
     private final PaymentDAO paymentDAO;
+    private final BookingDAO bookingDAO;
+    private final TripInventoryDAO tripInventoryDAO;
+    private final TransactionManager transactionManager;
+    private final SeatInventory seatInventory;
 
     public PaymentServiceImpl(){
-        paymentDAO = new PaymentDAOImpl(DatabaseConnection.getConnection());
+        paymentDAO = new PaymentDAOImpl(DatabaseConnection.getDataSource());
+        bookingDAO = new BookingDAOImpl(DatabaseConnection.getDataSource());
+        tripInventoryDAO = new TripInventoryDAOImpl(DatabaseConnection.getDataSource());
+        transactionManager = DatabaseConnection.getTransactionManager();
+        seatInventory = SeatInventory.getInstance();
+    }
+
+    @Override
+    public PaymentDTO makePayment(Long bookingId, String paymentMethod, double paidAmount) {
+        PaymentMethod method = parseMethod(paymentMethod);
+        if (bookingId == null || method == null) {
+            return null;
+        }
+
+        try {
+            return transactionManager.execute(() -> {
+                Booking booking = bookingDAO.findById(bookingId);
+                if (booking == null || booking.getStatus() != BookingStatus.PENDING) {
+                    return null;
+                }
+                if (booking.getHoldExpiresAt() != null && !booking.getHoldExpiresAt().isAfter(LocalDateTime.now())) {
+                    // The seat hold has lapsed; the seats may already belong to someone else.
+                    if (bookingDAO.transitionStatus(bookingId, BookingStatus.PENDING, BookingStatus.CANCELLED)) {
+                        int seats = seatCount(bookingId);
+                        if (!tripInventoryDAO.adjust(booking.getTripId(), -seats, 0)) {
+                            transactionManager.setRollbackOnly();
+                            return null;
+                        }
+                        transactionManager.afterCommit(() -> {
+                            seatInventory.cancel(booking.getTripId(), bookingId);
+                            SeatCountEvents.seatsChanged(booking.getTripId(), seats);
+                        });
+                    }
+                    return null;
+                }
+
+                boolean paid = paidAmount >= booking.getTotalPrice();
+                Payment payment = new Payment();
+                payment.setBookingId(bookingId);
+                payment.setPaymentMethod(method.name());
+                payment.setPaymentStatus(paid ? PaymentStatus.PAID : PaymentStatus.FAILED);
+                payment.setPaidAmount(paidAmount);
+
+                Long paymentId = paymentDAO.save(payment);
+                if (paymentId == null) {
+                    transactionManager.setRollbackOnly();
+                    return null;
+                }
+                payment.setPaymentId(paymentId);
+                if (!paid) {
+                    // A short payment is recorded but keeps the hold; the customer can pay again until it expires.
+                    return toDTO(payment);
+                }
+                // Conditional on PENDING so a payment and the expiry sweeper cannot both win.
+                if (!bookingDAO.transitionStatus(bookingId, BookingStatus.PENDING, BookingStatus.CONFIRMED)) {
+                    transactionManager.setRollbackOnly();
+                    return null;
+                }
+                int seats = seatCount(bookingId);
+                if (!tripInventoryDAO.adjust(booking.getTripId(), -seats, seats)) {
+                    transactionManager.setRollbackOnly();
+                    return null;
+                }
+                transactionManager.afterCommit(() -> seatInventory.confirm(booking.getTripId(), bookingId));
+                return toDTO(payment);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private int seatCount(Long bookingId) {
+        return bookingDAO.countSeats(List.of(bookingId)).getOrDefault(bookingId, 0);
+    }
+
+    private PaymentDTO toDTO(Payment payment) {
+        PaymentDTO dto = new PaymentDTO();
+        dto.setPaymentId(payment.getPaymentId());
+        dto.setBookingId(payment.getBookingId());
+        dto.setPaymentMethod(payment.getPaymentMethod());
+        dto.setPaymentStatus(payment.getPaymentStatus() == null ? null : payment.getPaymentStatus().name());
+        dto.setPaidAmount(payment.getPaidAmount());
+        return dto;
+    }
+
+    /**
+     * @return the method, or null if it is missing or unknown
+     */
+    private PaymentMethod parseMethod(String method) {
+        if (method == null || method.isBlank()) {
+            return null;
+        }
+        try {
+            return PaymentMethod.valueOf(method.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
     }
 }
@@ -1,9 +1,14 @@
 package com.busticket.service.impl;
 
+import com.busticket.cache.TripSearchCache;
 import com.busticket.dao.RouteDAO;
 import com.busticket.dao.impl.RouteDAOImpl;
 import com.busticket.database.DatabaseConnection;
 import com.busticket.dto.RouteDTO;
+import com.busticket.index.RouteIndex;
+import com.busticket.search.ConnectionSearch;
+import com.busticket.search.FareCalendar;
+import com.busticket.search.TripDateIndex;
 import com.busticket.model.Route;
 import com.busticket.service.RouteService;
 
@@ -13,15 +18,23 @@ import java.util.List;
 public class RouteServiceImpl implements RouteService {
 
     private final RouteDAO routeDAO;
+    private final TripSearchCache tripSearchCache;
+    private final RouteIndex routeIndex;
 
     public RouteServiceImpl() {
-        this.routeDAO = new RouteDAOImpl(DatabaseConnection.getConnection());
+        this.routeDAO = new RouteDAOImpl(DatabaseConnection.getDataSource());
+        this.tripSearchCache = TripSearchCache.getInstance();
+        this.routeIndex = RouteIndex.getInstance();
     }
 
 
     @Override
     public boolean save(RouteDTO dto) {
-        return routeDAO.save(toModel(dto));
+        boolean saved = routeDAO.save(toModel(dto));
+        if (saved) {
+            routeIndex.refresh();
+        }
+        return saved;
     }
 
     @Override
@@ -29,12 +42,23 @@ public class RouteServiceImpl implements RouteService {
         if (dto == null || dto.getRouteId() == null) {
             return false;
         }
-        return routeDAO.update(toModel(dto));
+        boolean updated = routeDAO.update(toModel(dto));
+        if (updated) {
+            routeIndex.refresh();
+            // Renaming a city moves every trip on the route to a different search key.
+            invalidateTripSearches();
+        }
+        return updated;
     }
 
     @Override
     public boolean delete(Long id) {
-        return routeDAO.delete(id);
+        boolean deleted = routeDAO.delete(id);
+        if (deleted) {
+            routeIndex.refresh();
+            invalidateTripSearches();
+        }
+        return deleted;
     }
 
     @Override
@@ -47,6 +71,28 @@ public class RouteServiceImpl implements RouteService {
         return dtos;
     }
 
+    @Override
+    public List<String> getOriginCities() {
+        return routeIndex.getOriginCities();
+    }
+
+    @Override
+    public List<String> getDestinationCities(String origin) {
+        return routeIndex.getDestinationCities(origin);
+    }
+
+    @Override
+    public List<String> autocompleteCities(String prefix, int limit) {
+        return routeIndex.autocompleteCities(prefix, limit);
+    }
+
+    private void invalidateTripSearches() {
+        tripSearchCache.invalidateAll();
+        ConnectionSearch.getInstance().invalidateAll();
+        TripDateIndex.getInstance().invalidateAll();
+        FareCalendar.getInstance().invalidateAll();
+    }
+
     private Route toModel(RouteDTO dto) {
         Route route = new Route();
         route.setRouteId(dto.getRouteId());
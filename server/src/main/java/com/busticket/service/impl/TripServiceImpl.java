@@ -1,43 +1,361 @@
 package com.busticket.service.impl;
 
+import com.busticket.cache.AdvertisedTripsSnapshot;
+import com.busticket.cache.TripSearchCache;
+import com.busticket.dao.RouteDAO;
 import com.busticket.dao.TripDAO;
+import com.busticket.dao.impl.RouteDAOImpl;
 import com.busticket.dao.impl.TripDAOImpl;
 import com.busticket.database.DatabaseConnection;
+import com.busticket.dto.FareDayDTO;
+import com.busticket.dto.ItineraryDTO;
 import com.busticket.dto.TripDTO;
+import com.busticket.dto.TripPageDTO;
+import com.busticket.dto.TripSearchRequest;
+import com.busticket.enums.BusType;
+import com.busticket.enums.TripSortKey;
+import com.busticket.enums.TripStatus;
+import com.busticket.inventory.SeatInventory;
+import com.busticket.model.Route;
+import com.busticket.model.Trip;
+import com.busticket.model.TripSearchCriteria;
+import com.busticket.search.ConnectionSearch;
+import com.busticket.search.FareCalendar;
+import com.busticket.search.Itinerary;
+import com.busticket.search.TripDateIndex;
 import com.busticket.service.TripService;
+import com.busticket.util.SingleFlight;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 
 public class TripServiceImpl implements TripService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
    private final TripDAO tripDAO;
+   private final RouteDAO routeDAO;
+   private final SeatInventory seatInventory;
+   private final TripSearchCache tripSearchCache;
+   private final ConnectionSearch connectionSearch;
+   private final TripDateIndex tripDateIndex;
+   private final FareCalendar fareCalendar;
+   private final AdvertisedTripsSnapshot advertisedTrips;
+   // getAll has no cache in front of it; concurrent admin refreshes still share one query.
+   private final SingleFlight<String, List<TripDTO>> allTrips = new SingleFlight<>();
 
    public TripServiceImpl(){
-       tripDAO = new TripDAOImpl(DatabaseConnection.getConnection());
+       tripDAO = new TripDAOImpl(DatabaseConnection.getDataSource());
+       routeDAO = new RouteDAOImpl(DatabaseConnection.getDataSource());
+       seatInventory = SeatInventory.getInstance();
+       tripSearchCache = TripSearchCache.getInstance();
+       connectionSearch = ConnectionSearch.getInstance();
+       tripDateIndex = TripDateIndex.getInstance();
+       fareCalendar = FareCalendar.getInstance();
+       advertisedTrips = AdvertisedTripsSnapshot.getInstance();
    }
 
     @Override
     public boolean save(TripDTO dto) {
-        return false;
+        if (dto == null) {
+            return false;
+        }
+        Trip trip = toModel(dto);
+        boolean saved = tripDAO.save(trip);
+        if (saved) {
+            afterTripWrite(trip);
+        }
+        return saved;
     }
 
     @Override
     public boolean update(TripDTO dto) {
-        return false;
+        if (dto == null || dto.getTripId() == null) {
+            return false;
+        }
+        Trip trip = toModel(dto);
+        boolean updated = tripDAO.update(trip);
+        if (updated) {
+            seatInventory.invalidate(dto.getTripId());
+            // The old search holding the trip, and the one it may have moved to.
+            tripSearchCache.invalidateTrip(dto.getTripId());
+            afterTripWrite(trip);
+        }
+        return updated;
     }
 
     @Override
     public boolean delete(Long id) {
-        return false;
+        boolean deleted = tripDAO.delete(id);
+        if (deleted) {
+            seatInventory.invalidate(id);
+            tripSearchCache.invalidateTrip(id);
+            connectionSearch.invalidateAll();
+            tripDateIndex.remove(id);
+            fareCalendar.tripChanged(id, null, null, null);
+            advertisedTrips.requestRefresh();
+        }
+        return deleted;
     }
 
     @Override
     public List<TripDTO> getAll() {
-        return List.of();
+        return new ArrayList<>(allTrips.execute("all", () -> toDTOs(tripDAO.findAll())));
     }
 
     @Override
     public List<TripDTO> search(String origin, String destination, LocalDate date) {
-        return List.of();
+        if (origin == null || destination == null || date == null) {
+            return new ArrayList<>();
+        }
+        String from = origin.trim();
+        String to = destination.trim();
+        return tripSearchCache.get(TripSearchCache.Key.of(from, to, date), () -> load(from, to, date));
+    }
+
+    @Override
+    public TripPageDTO searchPage(TripSearchRequest request) {
+        TripPageDTO page = new TripPageDTO();
+        TripSearchCriteria criteria = toCriteria(request);
+        if (criteria == null) {
+            return page;
+        }
+        int pageSize = criteria.getLimit();
+        // One extra row tells whether another page exists without a COUNT query.
+        criteria.setLimit(pageSize + 1);
+        List<Trip> trips = tripDAO.searchPage(criteria);
+        boolean hasMore = trips.size() > pageSize;
+        if (hasMore) {
+            trips = trips.subList(0, pageSize);
+        }
+        for (Trip trip : trips) {
+            TripDTO dto = toDTO(trip);
+            dto.setBusNumber(trip.getBusNumber());
+            dto.setOriginCity(criteria.getOrigin());
+            dto.setDestinationCity(criteria.getDestination());
+            dto.setTotalSeats(trip.getTotalSeats());
+            dto.setAvailableSeats(trip.getAvailableSeats());
+            page.getTrips().add(dto);
+        }
+        if (hasMore) {
+            page.setNextPageToken(encodePageToken(criteria.getSortKey(), trips.get(trips.size() - 1)));
+        }
+        return page;
+    }
+
+    @Override
+    public List<TripDTO> getAdvertised() {
+        return advertisedTrips.getTrips();
+    }
+
+    @Override
+    public byte[] getAdvertisedBytes() {
+        return advertisedTrips.getBytes();
+    }
+
+    @Override
+    public List<TripDTO> searchClosest(String origin, String destination, LocalDate date, int limit) {
+        List<TripDTO> dtos = new ArrayList<>();
+        if (origin == null || destination == null || date == null || limit <= 0) {
+            return dtos;
+        }
+        List<Long> ids = tripDateIndex.closest(origin, destination, date, LocalDate.now(), limit);
+        List<Trip> trips = tripDAO.findByIds(ids);
+        trips.sort(Comparator.comparingLong((Trip trip) -> Math.abs(ChronoUnit.DAYS.between(date, trip.getTravelDate())))
+                .thenComparing(Trip::getTravelDate)
+                .thenComparing(Trip::getDepartureTime));
+        for (Trip trip : trips) {
+            TripDTO dto = toDTO(trip);
+            dto.setOriginCity(trip.getOriginCity());
+            dto.setDestinationCity(trip.getDestinationCity());
+            dto.setTotalSeats(trip.getTotalSeats());
+            dto.setAvailableSeats(trip.getAvailableSeats());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    @Override
+    public List<FareDayDTO> getFareCalendar(String origin, String destination, YearMonth month) {
+        List<FareDayDTO> dtos = new ArrayList<>();
+        if (origin == null || destination == null || month == null) {
+            return dtos;
+        }
+        for (FareCalendar.FareDay day : fareCalendar.get(origin.trim(), destination.trim(), month)) {
+            dtos.add(new FareDayDTO(day.date(), day.minPrice(), day.availableSeats(), day.tripCount()));
+        }
+        return dtos;
+    }
+
+    @Override
+    public List<ItineraryDTO> searchConnections(String origin, String destination, LocalDate date, int maxTransfers) {
+        List<ItineraryDTO> dtos = new ArrayList<>();
+        if (origin == null || destination == null || date == null || maxTransfers < 0) {
+            return dtos;
+        }
+        for (Itinerary itinerary : connectionSearch.search(origin, destination, date, maxTransfers)) {
+            ItineraryDTO dto = new ItineraryDTO();
+            List<TripDTO> legs = new ArrayList<>();
+            for (Trip leg : itinerary.legs()) {
+                TripDTO legDto = toDTO(leg);
+                legDto.setOriginCity(leg.getOriginCity());
+                legDto.setDestinationCity(leg.getDestinationCity());
+                legDto.setTotalSeats(leg.getTotalSeats());
+                legDto.setAvailableSeats(leg.getAvailableSeats());
+                legs.add(legDto);
+            }
+            dto.setLegs(legs);
+            dto.setDeparture(itinerary.departure());
+            dto.setArrival(itinerary.arrival());
+            dto.setTransfers(itinerary.transfers());
+            dto.setTotalPrice(itinerary.totalPrice());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private List<TripDTO> load(String origin, String destination, LocalDate date) {
+        List<TripDTO> dtos = new ArrayList<>();
+        for (Trip trip : tripDAO.search(origin, destination, date)) {
+            TripDTO dto = toDTO(trip);
+            dto.setTotalSeats(trip.getTotalSeats());
+            dto.setAvailableSeats(trip.getAvailableSeats());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    /**
+     * Validates a paged search request; null when it is incomplete or its filters or token do not parse.
+     */
+    private TripSearchCriteria toCriteria(TripSearchRequest request) {
+        if (request == null || request.getOrigin() == null || request.getDestination() == null
+                || request.getTravelDate() == null) {
+            return null;
+        }
+        TripSearchCriteria criteria = new TripSearchCriteria();
+        criteria.setOrigin(request.getOrigin().trim());
+        criteria.setDestination(request.getDestination().trim());
+        criteria.setTravelDate(request.getTravelDate());
+        criteria.setDepartureFrom(request.getDepartureFrom());
+        criteria.setDepartureTo(request.getDepartureTo());
+        criteria.setMaxPrice(request.getMaxPrice());
+        criteria.setMinAvailableSeats(Math.max(0, request.getMinAvailableSeats()));
+        int pageSize = request.getPageSize() <= 0 ? DEFAULT_PAGE_SIZE : request.getPageSize();
+        criteria.setLimit(Math.min(pageSize, MAX_PAGE_SIZE));
+        try {
+            if (request.getBusType() != null && !request.getBusType().isBlank()) {
+                criteria.setBusType(BusType.valueOf(request.getBusType().trim().toUpperCase(Locale.ROOT)));
+            }
+            if (request.getSortBy() != null && !request.getSortBy().isBlank()) {
+                criteria.setSortKey(TripSortKey.valueOf(request.getSortBy().trim().toUpperCase(Locale.ROOT)));
+            }
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        if (request.getPageToken() != null && !decodePageToken(request.getPageToken(), criteria)) {
+            return null;
+        }
+        return criteria;
+    }
+
+    /**
+     * The token is the sort key and the last row's (sort value, trip id), so the next page seeks past it.
+     */
+    private String encodePageToken(TripSortKey sortKey, Trip last) {
+        String value = sortKey == TripSortKey.PRICE ? Double.toString(last.getPrice()) : last.getDepartureTime().toString();
+        String token = sortKey.name() + "|" + value + "|" + last.getTripId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean decodePageToken(String token, TripSearchCriteria criteria) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || TripSortKey.valueOf(parts[0]) != criteria.getSortKey()) {
+                return false;
+            }
+            if (criteria.getSortKey() == TripSortKey.PRICE) {
+                criteria.setAfterPrice(Double.parseDouble(parts[1]));
+            } else {
+                criteria.setAfterDepartureTime(LocalTime.parse(parts[1]));
+            }
+            criteria.setAfterTripId(Long.parseLong(parts[2]));
+            return true;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Brings the in-memory search structures up to date after a trip row was inserted or updated.
+     */
+    private void afterTripWrite(Trip trip) {
+        connectionSearch.invalidateAll();
+        advertisedTrips.requestRefresh();
+        tripDateIndex.remove(trip.getTripId());
+        Route route = routeDAO.findById(trip.getRouteId());
+        if (route == null) {
+            tripSearchCache.invalidateAll();
+            fareCalendar.invalidateAll();
+            return;
+        }
+        fareCalendar.tripChanged(trip.getTripId(), route.getOriginCity(), route.getDestinationCity(), trip.getTravelDate());
+        tripSearchCache.invalidate(TripSearchCache.Key.of(route.getOriginCity(), route.getDestinationCity(), trip.getTravelDate()));
+        if (trip.getStatus() == TripStatus.OPEN) {
+            tripDateIndex.add(trip.getTripId(), route.getOriginCity(), route.getDestinationCity(), trip.getTravelDate());
+        }
+    }
+
+    private List<TripDTO> toDTOs(List<Trip> trips) {
+        List<TripDTO> dtos = new ArrayList<>();
+        for (Trip trip : trips) {
+            dtos.add(toDTO(trip));
+        }
+        return dtos;
+    }
+
+    private Trip toModel(TripDTO dto) {
+        Trip trip = new Trip();
+        trip.setTripId(dto.getTripId());
+        trip.setBusId(dto.getBusId());
+        trip.setRouteId(dto.getRouteId());
+        trip.setTravelDate(dto.getTravelDate());
+        trip.setDepartureTime(dto.getDepartureTime());
+        trip.setArrivalTime(dto.getArrivalTime());
+        trip.setPrice(dto.getPrice());
+        trip.setStatus(parseStatus(dto.getStatus()));
+        return trip;
+    }
+
+    private TripDTO toDTO(Trip trip) {
+        TripDTO dto = new TripDTO();
+        dto.setTripId(trip.getTripId());
+        dto.setBusId(trip.getBusId());
+        dto.setRouteId(trip.getRouteId());
+        dto.setTravelDate(trip.getTravelDate());
+        dto.setDepartureTime(trip.getDepartureTime());
+        dto.setArrivalTime(trip.getArrivalTime());
+        dto.setPrice(trip.getPrice());
+        dto.setStatus(trip.getStatus() == null ? null : trip.getStatus().name());
+        return dto;
+    }
+
+    private TripStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return TripStatus.OPEN;
+        }
+        try {
+            return TripStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return TripStatus.OPEN;
+        }
     }
 }
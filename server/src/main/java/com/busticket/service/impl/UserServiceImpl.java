@@ -18,7 +18,7 @@ public class UserServiceImpl implements UserService {
     private final UserDAO userDAO;
 
     public UserServiceImpl() {
-        this.userDAO = new UserDAOImpl(DatabaseConnection.getConnection());
+        this.userDAO = new UserDAOImpl(DatabaseConnection.getDataSource());
     }
 
     @Override
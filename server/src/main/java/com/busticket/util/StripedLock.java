@@ -0,0 +1,96 @@
+package com.busticket.util;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed array of locks selected by key hash. Keys on different stripes never contend;
+ * keys on the same stripe serialize. Counts how often each stripe was found busy so the
+ * stripe count can be sized from real traffic.
+ */
+public class StripedLock {
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final AtomicLongArray contended;
+    private final AtomicLongArray timeouts;
+
+    public StripedLock(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        size = Math.max(size, 1);
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.contended = new AtomicLongArray(size);
+        this.timeouts = new AtomicLongArray(size);
+    }
+
+    /**
+     * Locks the stripe for {@code key}, waiting at most {@code timeout}.
+     *
+     * @return the held lock, to be unlocked by the caller, or null if the wait timed out
+     */
+    public ReentrantLock tryLock(Object key, long timeout, TimeUnit unit) throws InterruptedException {
+        int stripe = stripeOf(key);
+        ReentrantLock lock = locks[stripe];
+        if (lock.tryLock()) {
+            return lock;
+        }
+        contended.incrementAndGet(stripe);
+        if (lock.tryLock(timeout, unit)) {
+            return lock;
+        }
+        timeouts.incrementAndGet(stripe);
+        return null;
+    }
+
+    public int getStripeCount() {
+        return locks.length;
+    }
+
+    public long[] getContentionCounts() {
+        return snapshot(contended);
+    }
+
+    public long[] getTimeoutCounts() {
+        return snapshot(timeouts);
+    }
+
+    /**
+     * Totals over all stripes plus the most contended stripe, e.g. for a log line at shutdown.
+     */
+    public String metricsSummary(String name) {
+        long contendedTotal = 0;
+        long timeoutTotal = 0;
+        int hottest = 0;
+        for (int i = 0; i < locks.length; i++) {
+            contendedTotal += contended.get(i);
+            timeoutTotal += timeouts.get(i);
+            if (contended.get(i) > contended.get(hottest)) {
+                hottest = i;
+            }
+        }
+        return String.format(Locale.ROOT, "%s stripes=%d contended=%d timeouts=%d hottestStripe=%d hottestContended=%d",
+                name, locks.length, contendedTotal, timeoutTotal, hottest, contended.get(hottest));
+    }
+
+    private int stripeOf(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        return (h * 0x9E3779B9) >>> 16 & mask;
+    }
+
+    private static long[] snapshot(AtomicLongArray counts) {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,14 @@
+package com.busticket.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+public class TicketCodeUtil {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    public static String generate() {
+        String random = UUID.randomUUID().toString().replace("-", "").substring(0, 10).toUpperCase();
+        return "BT-" + LocalDate.now().format(DATE_FORMAT) + "-" + random;
+    }
+}
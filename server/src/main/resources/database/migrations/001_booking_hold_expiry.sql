@@ -0,0 +1,17 @@
+-- Adds an explicit seat-hold expiry to bookings and replaces the single-column trip index with
+-- composite indexes, so availability lookups and the hold-expiry sweep become index range scans.
+-- Run once against an existing bus_ticket database created from an older schema.sql.
+USE bus_ticket;
+
+ALTER TABLE bookings ADD COLUMN hold_expires_at DATETIME NULL AFTER status;
+
+-- Existing pending holds keep the 15 minute TTL they were created under.
+UPDATE bookings
+SET hold_expires_at = booking_date + INTERVAL 15 MINUTE
+WHERE status = 'PENDING';
+
+CREATE INDEX idx_bookings_trip_status_expiry ON bookings (trip_id, status, hold_expires_at);
+CREATE INDEX idx_bookings_status_expiry ON bookings (status, hold_expires_at);
+
+-- fk_bookings_trip is now served by the leading trip_id column of the composite index.
+DROP INDEX idx_bookings_trip_id ON bookings;
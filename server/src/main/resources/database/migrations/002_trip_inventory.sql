@@ -0,0 +1,22 @@
+-- Adds per-trip held/confirmed seat counters so trip search reads one row per trip instead of
+-- aggregating booking_seat. The server keeps them current and a repair job reconciles them periodically.
+USE bus_ticket;
+
+CREATE TABLE IF NOT EXISTS trip_inventory (
+    trip_id BIGINT PRIMARY KEY,
+    held_seats INT NOT NULL DEFAULT 0,
+    confirmed_seats INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_trip_inventory_trip FOREIGN KEY (trip_id) REFERENCES trips(trip_id) ON DELETE CASCADE
+);
+
+INSERT INTO trip_inventory(trip_id, held_seats, confirmed_seats)
+SELECT t.trip_id,
+       COUNT(CASE WHEN b.status = 'PENDING' THEN bs.seat_id END),
+       COUNT(CASE WHEN b.status = 'CONFIRMED' THEN bs.seat_id END)
+FROM trips t
+LEFT JOIN bookings b ON b.trip_id = t.trip_id AND b.status IN ('PENDING', 'CONFIRMED')
+LEFT JOIN booking_seat bs ON bs.booking_id = b.booking_id
+GROUP BY t.trip_id
+ON DUPLICATE KEY UPDATE held_seats = VALUES(held_seats),
+                        confirmed_seats = VALUES(confirmed_seats);
@@ -0,0 +1,6 @@
+-- Lets paged trip search seek on (route, date, departure time, trip id) and stop after one page instead of
+-- sorting the whole day. Replaces idx_trips_route_id, which is a prefix of the new index.
+USE bus_ticket;
+
+CREATE INDEX idx_trips_route_date_departure ON trips (route_id, travel_date, departure_time);
+DROP INDEX idx_trips_route_id ON trips;
@@ -58,6 +58,7 @@ CREATE TABLE IF NOT EXISTS bookings (
     total_price DECIMAL(12,2) NOT NULL CHECK (total_price > 0),
     ticket_code VARCHAR(120) NOT NULL UNIQUE,
     status ENUM('PENDING', 'CONFIRMED', 'CANCELLED') NOT NULL DEFAULT 'PENDING',
+    hold_expires_at DATETIME NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users(user_id),
@@ -72,6 +73,14 @@ CREATE TABLE IF NOT EXISTS booking_seat (
     CONSTRAINT fk_booking_seat_seat FOREIGN KEY (seat_id) REFERENCES seats(seat_id)
 );
 
+CREATE TABLE IF NOT EXISTS trip_inventory (
+    trip_id BIGINT PRIMARY KEY,
+    held_seats INT NOT NULL DEFAULT 0,
+    confirmed_seats INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_trip_inventory_trip FOREIGN KEY (trip_id) REFERENCES trips(trip_id) ON DELETE CASCADE
+);
+
 CREATE TABLE IF NOT EXISTS payments (
     payment_id BIGINT PRIMARY KEY AUTO_INCREMENT,
     booking_id BIGINT NOT NULL UNIQUE,
@@ -93,11 +102,12 @@ CREATE TABLE IF NOT EXISTS ticket_validations (
 
 CREATE INDEX idx_trips_travel_date ON trips (travel_date);
 CREATE INDEX idx_trips_departure_time ON trips (departure_time);
-CREATE INDEX idx_trips_route_id ON trips (route_id);
+CREATE INDEX idx_trips_route_date_departure ON trips (route_id, travel_date, departure_time);
 CREATE INDEX idx_trips_bus_id ON trips (bus_id);
 CREATE INDEX idx_routes_origin_dest ON routes (origin_city, destination_city);
 CREATE INDEX idx_bookings_user_id ON bookings (user_id);
-CREATE INDEX idx_bookings_trip_id ON bookings (trip_id);
+CREATE INDEX idx_bookings_trip_status_expiry ON bookings (trip_id, status, hold_expires_at);
+CREATE INDEX idx_bookings_status_expiry ON bookings (status, hold_expires_at);
 CREATE INDEX idx_booking_seat_seat_id ON booking_seat (seat_id);
 
 INSERT INTO users(name, email, password, phone, role, status)
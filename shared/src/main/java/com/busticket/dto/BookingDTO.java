@@ -1,12 +1,14 @@
 package com.busticket.dto;
 
-import java.io.Serial;
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.List;
 
-public class BookingDTO implements Serializable {
-    @Serial
+public class BookingDTO implements Externalizable {
     private static final long serialVersionUID = 1L;
+    private static final int ENCODING_VERSION = 1;
 
     private Long bookingId;
     private Long userId;
@@ -73,4 +75,31 @@ public class BookingDTO implements Serializable {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(ENCODING_VERSION);
+        DtoStreams.writeId(out, bookingId);
+        DtoStreams.writeId(out, userId);
+        DtoStreams.writeId(out, tripId);
+        DtoStreams.writeSharedStrings(out, seatNumbers);
+        out.writeBoolean(totalPrice != null);
+        if (totalPrice != null) {
+            out.writeDouble(totalPrice);
+        }
+        DtoStreams.writeString(out, ticketCode);
+        DtoStreams.writeSharedString(out, status);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        DtoStreams.checkVersion(in, ENCODING_VERSION, BookingDTO.class);
+        bookingId = DtoStreams.readId(in);
+        userId = DtoStreams.readId(in);
+        tripId = DtoStreams.readId(in);
+        seatNumbers = DtoStreams.readSharedStrings(in);
+        totalPrice = in.readBoolean() ? in.readDouble() : null;
+        ticketCode = DtoStreams.readString(in);
+        status = DtoStreams.readSharedString(in);
+    }
 }
@@ -0,0 +1,180 @@
+package com.busticket.dto;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Field codecs shared by the {@link java.io.Externalizable} DTOs. Numbers are varints, with 0 standing for
+ * null, so ids, epoch days and seconds of the day take one to three bytes.
+ * <p>
+ * Low-cardinality strings (cities, bus and seat numbers, statuses) go through a dictionary kept per object
+ * stream: the first occurrence is written inline and later ones as its index, so a response repeats each
+ * distinct value once however many DTOs carry it. Writer and reader grow their tables in the same order, and
+ * each table lives as long as its stream; the reader also hands out one shared instance per value.
+ * <p>
+ * Tables are held per thread, so concurrent responses never share a lock. A stream must therefore be written,
+ * and read, by one thread, as RMI marshalling and {@code SerializationUtil} do.
+ */
+final class DtoStreams {
+    private static final int MAX_SHARED_STRINGS = 4096;
+    // Weak keys: a thread's tables go away with their streams, without any close hook.
+    private static final ThreadLocal<Map<ObjectOutput, Map<String, Integer>>> WRITE_TABLES =
+            ThreadLocal.withInitial(WeakHashMap::new);
+    private static final ThreadLocal<Map<ObjectInput, List<String>>> READ_TABLES =
+            ThreadLocal.withInitial(WeakHashMap::new);
+
+    private DtoStreams() {
+    }
+
+    static void checkVersion(ObjectInput in, int expected, Class<?> type) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != expected) {
+            throw new InvalidClassException(type.getName(), "unsupported encoding version " + version);
+        }
+    }
+
+    static void writeId(ObjectOutput out, Long value) throws IOException {
+        writeVarLong(out, value == null ? 0 : zigZag(value) + 1);
+    }
+
+    static Long readId(ObjectInput in) throws IOException {
+        long code = readVarLong(in);
+        return code == 0 ? null : unZigZag(code - 1);
+    }
+
+    static void writeInt(ObjectOutput out, int value) throws IOException {
+        writeVarLong(out, zigZag(value));
+    }
+
+    static int readInt(ObjectInput in) throws IOException {
+        return (int) unZigZag(readVarLong(in));
+    }
+
+    static void writeDate(ObjectOutput out, LocalDate value) throws IOException {
+        writeVarLong(out, value == null ? 0 : zigZag(value.toEpochDay()) + 1);
+    }
+
+    static LocalDate readDate(ObjectInput in) throws IOException {
+        long code = readVarLong(in);
+        return code == 0 ? null : LocalDate.ofEpochDay(unZigZag(code - 1));
+    }
+
+    /**
+     * Second precision, as the TIME columns the values come from.
+     */
+    static void writeTime(ObjectOutput out, LocalTime value) throws IOException {
+        writeVarLong(out, value == null ? 0 : value.toSecondOfDay() + 1);
+    }
+
+    static LocalTime readTime(ObjectInput in) throws IOException {
+        long code = readVarLong(in);
+        return code == 0 ? null : LocalTime.ofSecondOfDay(code - 1);
+    }
+
+    static void writeString(ObjectOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(ObjectInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeSharedString(ObjectOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        Map<String, Integer> table = WRITE_TABLES.get().computeIfAbsent(out, stream -> new HashMap<>());
+        Integer index = table.get(value);
+        if (index != null) {
+            writeVarLong(out, index + 2L);
+            return;
+        }
+        writeVarLong(out, 1);
+        out.writeUTF(value);
+        if (table.size() < MAX_SHARED_STRINGS) {
+            table.put(value, table.size());
+        }
+    }
+
+    static String readSharedString(ObjectInput in) throws IOException {
+        long code = readVarLong(in);
+        if (code == 0) {
+            return null;
+        }
+        List<String> table = READ_TABLES.get().computeIfAbsent(in, stream -> new ArrayList<>());
+        if (code > 1) {
+            if (code - 2 >= table.size()) {
+                throw new StreamCorruptedException("Unknown shared string " + (code - 2));
+            }
+            return table.get((int) (code - 2));
+        }
+        String value = in.readUTF();
+        if (table.size() < MAX_SHARED_STRINGS) {
+            table.add(value);
+        }
+        return value;
+    }
+
+    static void writeSharedStrings(ObjectOutput out, List<String> values) throws IOException {
+        writeVarLong(out, values == null ? 0 : values.size() + 1L);
+        if (values != null) {
+            for (String value : values) {
+                writeSharedString(out, value);
+            }
+        }
+    }
+
+    static List<String> readSharedStrings(ObjectInput in) throws IOException {
+        long code = readVarLong(in);
+        if (code == 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>((int) Math.min(code - 1, 1024));
+        for (long i = 1; i < code; i++) {
+            values.add(readSharedString(in));
+        }
+        return values;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ObjectOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(ObjectInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new StreamCorruptedException("Malformed varint");
+    }
+}
@@ -0,0 +1,55 @@
+package com.busticket.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+public class FareDayDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate date;
+    private double minPrice;
+    private int availableSeats;
+    private int tripCount;
+
+    public FareDayDTO() {
+    }
+
+    public FareDayDTO(LocalDate date, double minPrice, int availableSeats, int tripCount) {
+        this.date = date;
+        this.minPrice = minPrice;
+        this.availableSeats = availableSeats;
+        this.tripCount = tripCount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(int availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    public int getTripCount() {
+        return tripCount;
+    }
+
+    public void setTripCount(int tripCount) {
+        this.tripCount = tripCount;
+    }
+}
@@ -0,0 +1,59 @@
+package com.busticket.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ItineraryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<TripDTO> legs = new ArrayList<>();
+    private LocalDateTime departure;
+    private LocalDateTime arrival;
+    private int transfers;
+    private double totalPrice;
+
+    public ItineraryDTO() {
+    }
+
+    public List<TripDTO> getLegs() {
+        return legs;
+    }
+
+    public void setLegs(List<TripDTO> legs) {
+        this.legs = legs;
+    }
+
+    public LocalDateTime getDeparture() {
+        return departure;
+    }
+
+    public void setDeparture(LocalDateTime departure) {
+        this.departure = departure;
+    }
+
+    public LocalDateTime getArrival() {
+        return arrival;
+    }
+
+    public void setArrival(LocalDateTime arrival) {
+        this.arrival = arrival;
+    }
+
+    public int getTransfers() {
+        return transfers;
+    }
+
+    public void setTransfers(int transfers) {
+        this.transfers = transfers;
+    }
+
+    public double getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(double totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+}
@@ -0,0 +1,62 @@
+package com.busticket.dto;
+
+import java.io.Serializable;
+
+/**
+ * Free seats of one trip as a bitmap: bit {@code i} of {@code availableBits} (word {@code i >>> 6}, bit
+ * {@code i & 63}) is set when the bus's {@code i}-th seat, ordered by seat id, is free.
+ */
+public class SeatAvailabilityDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long tripId;
+    private Long busId;
+    private int seatCount;
+    private long[] availableBits;
+
+    public SeatAvailabilityDTO() {
+    }
+
+    public SeatAvailabilityDTO(Long tripId, Long busId, int seatCount, long[] availableBits) {
+        this.tripId = tripId;
+        this.busId = busId;
+        this.seatCount = seatCount;
+        this.availableBits = availableBits;
+    }
+
+    public boolean isAvailable(int ordinal) {
+        return ordinal >= 0 && ordinal < seatCount && (availableBits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    public Long getTripId() {
+        return tripId;
+    }
+
+    public void setTripId(Long tripId) {
+        this.tripId = tripId;
+    }
+
+    public Long getBusId() {
+        return busId;
+    }
+
+    public void setBusId(Long busId) {
+        this.busId = busId;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public void setSeatCount(int seatCount) {
+        this.seatCount = seatCount;
+    }
+
+    public long[] getAvailableBits() {
+        return availableBits;
+    }
+
+    public void setAvailableBits(long[] availableBits) {
+        this.availableBits = availableBits;
+    }
+}
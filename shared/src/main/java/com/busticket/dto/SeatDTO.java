@@ -1,9 +1,13 @@
 package com.busticket.dto;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 
-public class SeatDTO implements Serializable {
+public class SeatDTO implements Externalizable {
     private static final long serialVersionUID = 1L;
+    private static final int ENCODING_VERSION = 1;
 
     private Long seatId;
     private Long busId;
@@ -41,4 +45,20 @@ public class SeatDTO implements Serializable {
     public void setSeatNumber(String seatNumber) {
         this.seatNumber = seatNumber;
     }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(ENCODING_VERSION);
+        DtoStreams.writeId(out, seatId);
+        DtoStreams.writeId(out, busId);
+        DtoStreams.writeSharedString(out, seatNumber);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        DtoStreams.checkVersion(in, ENCODING_VERSION, SeatDTO.class);
+        seatId = DtoStreams.readId(in);
+        busId = DtoStreams.readId(in);
+        seatNumber = DtoStreams.readSharedString(in);
+    }
 }
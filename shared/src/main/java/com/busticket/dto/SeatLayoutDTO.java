@@ -0,0 +1,48 @@
+package com.busticket.dto;
+
+import java.io.Serializable;
+
+/**
+ * The seats of a bus in ordinal order (by seat id). Seat maps and availability bitmaps index into it, and
+ * {@code layoutId} (the bus id) tells a client whether the layout it already has still applies.
+ */
+public class SeatLayoutDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long layoutId;
+    private long[] seatIds;
+    private String[] seatNumbers;
+
+    public SeatLayoutDTO() {
+    }
+
+    public SeatLayoutDTO(Long layoutId, long[] seatIds, String[] seatNumbers) {
+        this.layoutId = layoutId;
+        this.seatIds = seatIds;
+        this.seatNumbers = seatNumbers;
+    }
+
+    public Long getLayoutId() {
+        return layoutId;
+    }
+
+    public void setLayoutId(Long layoutId) {
+        this.layoutId = layoutId;
+    }
+
+    public long[] getSeatIds() {
+        return seatIds;
+    }
+
+    public void setSeatIds(long[] seatIds) {
+        this.seatIds = seatIds;
+    }
+
+    public String[] getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(String[] seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+}
@@ -0,0 +1,137 @@
+package com.busticket.dto;
+
+import java.io.Serializable;
+
+/**
+ * Compact seat map of one trip. A full map carries {@code availableBits}, one bit per seat ordinal of the
+ * {@link SeatLayoutDTO} named by {@code layoutId}, set when the seat is free. A delta leaves it null and
+ * lists the ordinals that became free or taken after {@code baseVersion}; fold it into the full map with
+ * {@link #apply(SeatMapDTO)}.
+ */
+public class SeatMapDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long tripId;
+    private Long layoutId;
+    private long baseVersion;
+    private long version;
+    private int seatCount;
+    private long[] availableBits;
+    private int[] freedOrdinals;
+    private int[] takenOrdinals;
+
+    public SeatMapDTO() {
+    }
+
+    public boolean isDelta() {
+        return availableBits == null;
+    }
+
+    public boolean isAvailable(int ordinal) {
+        return ordinal >= 0 && ordinal < seatCount && (availableBits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    /**
+     * Brings this full map up to date with a delta or replaces it with a newer full map. Updates that are not
+     * newer than this map, e.g. a push arriving after a poll already returned the same change, are ignored.
+     * Versions only compare within one epoch (their high half); a full map from another epoch always replaces
+     * this one.
+     *
+     * @return false if the delta starts after this map's version or belongs to another epoch, i.e. changes
+     * were missed and the map must be fetched again
+     */
+    public boolean apply(SeatMapDTO update) {
+        boolean sameEpoch = epochOf(update.version) == epochOf(version);
+        if (update.isDelta()) {
+            if (!sameEpoch || update.baseVersion > version) {
+                return false;
+            }
+            if (update.version <= version) {
+                return true;
+            }
+            for (int ordinal : update.freedOrdinals) {
+                availableBits[ordinal >>> 6] |= 1L << ordinal;
+            }
+            for (int ordinal : update.takenOrdinals) {
+                availableBits[ordinal >>> 6] &= ~(1L << ordinal);
+            }
+        } else {
+            if (sameEpoch && update.version <= version) {
+                return true;
+            }
+            layoutId = update.layoutId;
+            seatCount = update.seatCount;
+            availableBits = update.availableBits.clone();
+        }
+        version = update.version;
+        return true;
+    }
+
+    private static long epochOf(long version) {
+        return version >>> 32;
+    }
+
+    public Long getTripId() {
+        return tripId;
+    }
+
+    public void setTripId(Long tripId) {
+        this.tripId = tripId;
+    }
+
+    public Long getLayoutId() {
+        return layoutId;
+    }
+
+    public void setLayoutId(Long layoutId) {
+        this.layoutId = layoutId;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public void setSeatCount(int seatCount) {
+        this.seatCount = seatCount;
+    }
+
+    public long[] getAvailableBits() {
+        return availableBits;
+    }
+
+    public void setAvailableBits(long[] availableBits) {
+        this.availableBits = availableBits;
+    }
+
+    public int[] getFreedOrdinals() {
+        return freedOrdinals;
+    }
+
+    public void setFreedOrdinals(int[] freedOrdinals) {
+        this.freedOrdinals = freedOrdinals;
+    }
+
+    public int[] getTakenOrdinals() {
+        return takenOrdinals;
+    }
+
+    public void setTakenOrdinals(int[] takenOrdinals) {
+        this.takenOrdinals = takenOrdinals;
+    }
+}
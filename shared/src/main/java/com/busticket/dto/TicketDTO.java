@@ -2,14 +2,18 @@ package com.busticket.dto;
 
 import com.busticket.enums.BookingStatus;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
-public class TicketDTO implements Serializable {
+public class TicketDTO implements Externalizable {
     private static final long serialVersionUID = 1L;
+    private static final int ENCODING_VERSION = 1;
 
     private String ticketCode;
     private String passengerName;
@@ -104,4 +108,35 @@ public class TicketDTO implements Serializable {
     public void setQrPayload(String qrPayload) {
         this.qrPayload = qrPayload;
     }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(ENCODING_VERSION);
+        DtoStreams.writeString(out, ticketCode);
+        DtoStreams.writeString(out, passengerName);
+        DtoStreams.writeSharedString(out, busNumber);
+        DtoStreams.writeSharedString(out, originCity);
+        DtoStreams.writeSharedString(out, destinationCity);
+        DtoStreams.writeDate(out, travelDate);
+        DtoStreams.writeTime(out, departureTime);
+        DtoStreams.writeSharedStrings(out, seatNumbers);
+        DtoStreams.writeSharedString(out, bookingStatus == null ? null : bookingStatus.name());
+        DtoStreams.writeString(out, qrPayload);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        DtoStreams.checkVersion(in, ENCODING_VERSION, TicketDTO.class);
+        ticketCode = DtoStreams.readString(in);
+        passengerName = DtoStreams.readString(in);
+        busNumber = DtoStreams.readSharedString(in);
+        originCity = DtoStreams.readSharedString(in);
+        destinationCity = DtoStreams.readSharedString(in);
+        travelDate = DtoStreams.readDate(in);
+        departureTime = DtoStreams.readTime(in);
+        seatNumbers = DtoStreams.readSharedStrings(in);
+        String bookingStatusName = DtoStreams.readSharedString(in);
+        bookingStatus = bookingStatusName == null ? null : BookingStatus.valueOf(bookingStatusName);
+        qrPayload = DtoStreams.readString(in);
+    }
 }
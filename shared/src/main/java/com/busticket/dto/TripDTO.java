@@ -1,11 +1,15 @@
 package com.busticket.dto;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
-public class TripDTO implements Serializable {
+public class TripDTO implements Externalizable {
     private static final long serialVersionUID = 1L;
+    private static final int ENCODING_VERSION = 1;
 
     private Long tripId;
     private Long busId;
@@ -128,4 +132,40 @@ public class TripDTO implements Serializable {
     public void setTotalSeats(int totalSeats) {
         this.totalSeats = totalSeats;
     }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(ENCODING_VERSION);
+        DtoStreams.writeId(out, tripId);
+        DtoStreams.writeId(out, busId);
+        DtoStreams.writeId(out, routeId);
+        DtoStreams.writeDate(out, travelDate);
+        DtoStreams.writeTime(out, departureTime);
+        DtoStreams.writeTime(out, arrivalTime);
+        out.writeDouble(price);
+        DtoStreams.writeSharedString(out, status);
+        DtoStreams.writeSharedString(out, busNumber);
+        DtoStreams.writeSharedString(out, originCity);
+        DtoStreams.writeSharedString(out, destinationCity);
+        DtoStreams.writeInt(out, totalSeats);
+        DtoStreams.writeInt(out, availableSeats);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        DtoStreams.checkVersion(in, ENCODING_VERSION, TripDTO.class);
+        tripId = DtoStreams.readId(in);
+        busId = DtoStreams.readId(in);
+        routeId = DtoStreams.readId(in);
+        travelDate = DtoStreams.readDate(in);
+        departureTime = DtoStreams.readTime(in);
+        arrivalTime = DtoStreams.readTime(in);
+        price = in.readDouble();
+        status = DtoStreams.readSharedString(in);
+        busNumber = DtoStreams.readSharedString(in);
+        originCity = DtoStreams.readSharedString(in);
+        destinationCity = DtoStreams.readSharedString(in);
+        totalSeats = DtoStreams.readInt(in);
+        availableSeats = DtoStreams.readInt(in);
+    }
 }
@@ -0,0 +1,34 @@
+package com.busticket.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of trip search results; {@code nextPageToken} is null on the last page.
+ */
+public class TripPageDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<TripDTO> trips = new ArrayList<>();
+    private String nextPageToken;
+
+    public TripPageDTO() {
+    }
+
+    public List<TripDTO> getTrips() {
+        return trips;
+    }
+
+    public void setTrips(List<TripDTO> trips) {
+        this.trips = trips;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+}
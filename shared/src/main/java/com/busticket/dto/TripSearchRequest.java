@@ -0,0 +1,117 @@
+package com.busticket.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One page of a trip search. Optional filters are left null (or 0 for {@code minAvailableSeats});
+ * {@code sortBy} names a {@link com.busticket.enums.TripSortKey} and defaults to departure time.
+ * Pass the previous page's {@code nextPageToken} as {@code pageToken} to continue with the same filters.
+ */
+public class TripSearchRequest implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String origin;
+    private String destination;
+    private LocalDate travelDate;
+    private LocalTime departureFrom;
+    private LocalTime departureTo;
+    private Double maxPrice;
+    private String busType;
+    private int minAvailableSeats;
+    private String sortBy;
+    private int pageSize;
+    private String pageToken;
+
+    public TripSearchRequest() {
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    public void setTravelDate(LocalDate travelDate) {
+        this.travelDate = travelDate;
+    }
+
+    public LocalTime getDepartureFrom() {
+        return departureFrom;
+    }
+
+    public void setDepartureFrom(LocalTime departureFrom) {
+        this.departureFrom = departureFrom;
+    }
+
+    public LocalTime getDepartureTo() {
+        return departureTo;
+    }
+
+    public void setDepartureTo(LocalTime departureTo) {
+        this.departureTo = departureTo;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public String getBusType() {
+        return busType;
+    }
+
+    public void setBusType(String busType) {
+        this.busType = busType;
+    }
+
+    public int getMinAvailableSeats() {
+        return minAvailableSeats;
+    }
+
+    public void setMinAvailableSeats(int minAvailableSeats) {
+        this.minAvailableSeats = minAvailableSeats;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public void setSortBy(String sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    public void setPageToken(String pageToken) {
+        this.pageToken = pageToken;
+    }
+}
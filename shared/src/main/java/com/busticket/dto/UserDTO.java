@@ -1,9 +1,13 @@
 package com.busticket.dto;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 
-public class UserDTO  implements Serializable {
+public class UserDTO implements Externalizable {
     private static final long serialVersionUID = 1L;
+    private static final int ENCODING_VERSION = 1;
 
     private Long userId;
     private String name;
@@ -81,4 +85,28 @@ public class UserDTO  implements Serializable {
         this.role = role;
         this.status = status;
     }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(ENCODING_VERSION);
+        DtoStreams.writeId(out, userId);
+        DtoStreams.writeString(out, name);
+        DtoStreams.writeString(out, email);
+        DtoStreams.writeString(out, password);
+        DtoStreams.writeString(out, phone);
+        DtoStreams.writeSharedString(out, role);
+        DtoStreams.writeSharedString(out, status);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        DtoStreams.checkVersion(in, ENCODING_VERSION, UserDTO.class);
+        userId = DtoStreams.readId(in);
+        name = DtoStreams.readString(in);
+        email = DtoStreams.readString(in);
+        password = DtoStreams.readString(in);
+        phone = DtoStreams.readString(in);
+        role = DtoStreams.readSharedString(in);
+        status = DtoStreams.readSharedString(in);
+    }
 }
@@ -0,0 +1,6 @@
+package com.busticket.enums;
+
+public enum TripSortKey {
+    DEPARTURE_TIME,
+    PRICE
+}
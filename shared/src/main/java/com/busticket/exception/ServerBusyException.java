@@ -0,0 +1,28 @@
+package com.busticket.exception;
+
+import java.rmi.RemoteException;
+
+/**
+ * Thrown by a remote call the server refused to run because the service is at capacity. Nothing was
+ * executed, so the call can be retried after {@link #getRetryAfterMillis()}.
+ */
+public class ServerBusyException extends RemoteException {
+    private static final long serialVersionUID = 1L;
+
+    private final String service;
+    private final long retryAfterMillis;
+
+    public ServerBusyException(String service, long retryAfterMillis) {
+        super(service + " is busy, retry after " + retryAfterMillis + " ms");
+        this.service = service;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package com.busticket.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Socket whose streams exchange length-prefixed frames, deflating those of at least {@code threshold} bytes.
+ */
+final class CompressedSocket extends Socket {
+    private final int threshold;
+    private InputStream in;
+    private OutputStream out;
+
+    CompressedSocket(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() throws IOException {
+        if (in == null) {
+            in = new FrameInputStream(super.getInputStream());
+        }
+        return in;
+    }
+
+    @Override
+    public synchronized OutputStream getOutputStream() throws IOException {
+        if (out == null) {
+            out = new FrameOutputStream(super.getOutputStream(), threshold);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,107 @@
+package com.busticket.net;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads the frames written by {@link FrameOutputStream}, inflating compressed ones.
+ */
+final class FrameInputStream extends FilterInputStream {
+    private final DataInputStream data;
+    private final Inflater inflater = new Inflater();
+    private final byte[] buffer = new byte[FrameOutputStream.FRAME_SIZE];
+    private final byte[] compressed = new byte[FrameOutputStream.FRAME_SIZE];
+    private int position;
+    private int limit;
+
+    FrameInputStream(InputStream in) {
+        super(in);
+        this.data = new DataInputStream(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        int n = Math.min(length, limit - position);
+        System.arraycopy(buffer, position, bytes, offset, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && (position < limit || fill())) {
+            int step = (int) Math.min(n - skipped, limit - position);
+            position += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            data.close();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int first = data.read();
+        if (first < 0) {
+            return false;
+        }
+        int rawLength = (first << 24) | (data.readUnsignedByte() << 16) | (data.readUnsignedByte() << 8) | data.readUnsignedByte();
+        int compressedLength = data.readInt();
+        if (rawLength <= 0 || rawLength > buffer.length || compressedLength < 0 || compressedLength >= rawLength) {
+            throw new IOException("Corrupt frame header");
+        }
+        if (compressedLength == 0) {
+            data.readFully(buffer, 0, rawLength);
+        } else {
+            data.readFully(compressed, 0, compressedLength);
+            inflater.reset();
+            inflater.setInput(compressed, 0, compressedLength);
+            try {
+                if (inflater.inflate(buffer, 0, rawLength) != rawLength || !inflater.finished()) {
+                    throw new EOFException("Truncated compressed frame");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt compressed frame", e);
+            }
+        }
+        position = 0;
+        limit = rawLength;
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package com.busticket.net;
+
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Buffers writes into frames sent on flush or when the buffer fills. Each frame is its raw length, its
+ * compressed length (0 when sent raw) and the payload; frames below the threshold, or that deflate no
+ * smaller, go raw so small calls pay nothing but the eight-byte header.
+ */
+final class FrameOutputStream extends FilterOutputStream {
+    static final int FRAME_SIZE = 64 * 1024;
+
+    private final int threshold;
+    private final DataOutputStream data;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] buffer = new byte[FRAME_SIZE];
+    private final byte[] compressed = new byte[FRAME_SIZE];
+    private int count;
+
+    FrameOutputStream(OutputStream out, int threshold) {
+        super(out);
+        this.data = new DataOutputStream(out);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            writeFrame();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (count == buffer.length) {
+                writeFrame();
+            }
+            int n = Math.min(length, buffer.length - count);
+            System.arraycopy(bytes, offset, buffer, count, n);
+            count += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeFrame();
+        data.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            deflater.end();
+            data.close();
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        int compressedLength = count >= threshold ? deflate() : 0;
+        data.writeInt(count);
+        data.writeInt(compressedLength);
+        if (compressedLength > 0) {
+            data.write(compressed, 0, compressedLength);
+        } else {
+            data.write(buffer, 0, count);
+        }
+        count = 0;
+    }
+
+    /**
+     * Deflates the buffer; 0 if the result would not be smaller than the input.
+     */
+    private int deflate() {
+        deflater.reset();
+        deflater.setInput(buffer, 0, count);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished() && length < count) {
+            length += deflater.deflate(compressed, length, count - length);
+        }
+        return deflater.finished() && length < count ? length : 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.busticket.net;
+
+import java.io.Serializable;
+import java.net.Socket;
+import java.net.SocketException;
+
+/**
+ * TCP options for RMI connections, read from the environment of the JVM that opens or accepts the socket:
+ * {@code BTS_RMI_TCP_NODELAY} (default true), {@code BTS_RMI_KEEPALIVE} (default true),
+ * {@code BTS_RMI_SOCKET_BUFFER_KB} (default 64) and {@code BTS_RMI_COMPRESSION_THRESHOLD} in bytes
+ * (default 0, off). Compression is decided by the server, whose client socket factory travels with its stubs.
+ */
+public record SocketSettings(boolean tcpNoDelay, boolean keepAlive, int bufferSize, int compressionThreshold)
+        implements Serializable {
+
+    public static SocketSettings fromEnvironment() {
+        return new SocketSettings(
+                getBoolean("BTS_RMI_TCP_NODELAY", true),
+                getBoolean("BTS_RMI_KEEPALIVE", true),
+                getInt("BTS_RMI_SOCKET_BUFFER_KB", 64) * 1024,
+                getInt("BTS_RMI_COMPRESSION_THRESHOLD", 0));
+    }
+
+    public boolean compresses() {
+        return compressionThreshold > 0;
+    }
+
+    /**
+     * Applies the options; call before connecting so the receive buffer can size the TCP window.
+     */
+    public void apply(Socket socket) throws SocketException {
+        socket.setTcpNoDelay(tcpNoDelay);
+        socket.setKeepAlive(keepAlive);
+        if (bufferSize > 0) {
+            socket.setSendBufferSize(bufferSize);
+            socket.setReceiveBufferSize(bufferSize);
+        }
+    }
+
+    private static boolean getBoolean(String key, boolean defaultValue) {
+        String value = System.getenv(key);
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    private static int getInt(String key, int defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+}
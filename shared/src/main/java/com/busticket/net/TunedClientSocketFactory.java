@@ -0,0 +1,50 @@
+package com.busticket.net;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.rmi.server.RMIClientSocketFactory;
+
+/**
+ * Client half of the tuned RMI transport. It is serialized into the server's stubs, so it carries only the
+ * server's compression threshold, which both ends must agree on; TCP options come from the calling JVM's
+ * own {@link SocketSettings}.
+ */
+public final class TunedClientSocketFactory implements RMIClientSocketFactory, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int compressionThreshold;
+
+    public TunedClientSocketFactory(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        Socket socket = compressionThreshold > 0 ? new CompressedSocket(compressionThreshold) : new Socket();
+        try {
+            LocalSettings.VALUE.apply(socket);
+            socket.connect(new InetSocketAddress(host, port));
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        return socket;
+    }
+
+    // RMI reuses connections per factory, so equal factories must compare equal.
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TunedClientSocketFactory factory && factory.compressionThreshold == compressionThreshold;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(compressionThreshold);
+    }
+
+    private static final class LocalSettings {
+        private static final SocketSettings VALUE = SocketSettings.fromEnvironment();
+    }
+}
@@ -0,0 +1,72 @@
+package com.busticket.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.server.RMIServerSocketFactory;
+
+/**
+ * Server half of the tuned RMI transport: accepted sockets get the configured TCP options and, when a
+ * compression threshold is set, the framed compression that {@link TunedClientSocketFactory} speaks.
+ */
+public final class TunedServerSocketFactory implements RMIServerSocketFactory {
+    private final SocketSettings settings;
+
+    public TunedServerSocketFactory(SocketSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * The client factory to export remote objects with alongside this one.
+     */
+    public TunedClientSocketFactory clientFactory() {
+        return new TunedClientSocketFactory(settings.compressionThreshold());
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+        ServerSocket serverSocket = new TunedServerSocket(settings);
+        try {
+            if (settings.bufferSize() > 0) {
+                serverSocket.setReceiveBufferSize(settings.bufferSize());
+            }
+            serverSocket.bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        return serverSocket;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TunedServerSocketFactory factory && factory.settings.equals(settings);
+    }
+
+    @Override
+    public int hashCode() {
+        return settings.hashCode();
+    }
+
+    private static final class TunedServerSocket extends ServerSocket {
+        private final SocketSettings settings;
+
+        private TunedServerSocket(SocketSettings settings) throws IOException {
+            this.settings = settings;
+        }
+
+        @Override
+        public Socket accept() throws IOException {
+            Socket socket;
+            if (settings.compresses()) {
+                socket = new CompressedSocket(settings.compressionThreshold());
+                implAccept(socket);
+            } else {
+                socket = super.accept();
+            }
+            settings.apply(socket);
+            return socket;
+        }
+    }
+}
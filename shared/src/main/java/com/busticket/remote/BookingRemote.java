@@ -1,15 +1,51 @@
 package com.busticket.remote;
 
 import com.busticket.dto.BookingDTO;
+import com.busticket.dto.SeatAvailabilityDTO;
+import com.busticket.dto.SeatDTO;
+import com.busticket.dto.SeatLayoutDTO;
+import com.busticket.dto.SeatMapDTO;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.util.List;
 
 public interface BookingRemote extends Remote {
+    int MAX_AVAILABILITY_TRIPS = 200;
+
     BookingDTO createBooking(BookingDTO dto) throws RemoteException;
 
     boolean confirmBooking(Long bookingId) throws RemoteException;
 
     List<Long> getBookedSeatIds(Long tripId) throws RemoteException;
+
+    List<SeatDTO> getAvailableSeats(Long tripId) throws RemoteException;
+
+    /**
+     * Free-seat bitmaps for a page of search results in one call; unknown trips are left out.
+     *
+     * @param tripIds at most {@link #MAX_AVAILABILITY_TRIPS} distinct ids
+     * @throws IllegalArgumentException if more distinct ids are requested; split the request instead
+     */
+    List<SeatAvailabilityDTO> getSeatAvailability(List<Long> tripIds) throws RemoteException;
+
+    /**
+     * Seat numbers of the trip's bus in the ordinal order used by {@link #getSeatMap}; fetch once per layout id.
+     */
+    SeatLayoutDTO getSeatLayout(Long tripId) throws RemoteException;
+
+    /**
+     * The trip's seat map. Pass 0 for a full map, or the version of the map the client holds to receive only
+     * the seats changed since; the server answers with a full map when it can no longer produce that delta.
+     */
+    SeatMapDTO getSeatMap(Long tripId, long sinceVersion) throws RemoteException;
+
+    /**
+     * Registers a callback for seat changes on the trip and returns the current full seat map to apply
+     * pushed deltas to. A slow listener loses its oldest undelivered updates, which shows up as a delta
+     * {@link SeatMapDTO#apply} rejects; fetch the map again when that happens.
+     */
+    SeatMapDTO subscribeSeatChanges(Long tripId, SeatChangeListener listener) throws RemoteException;
+
+    void unsubscribeSeatChanges(Long tripId, SeatChangeListener listener) throws RemoteException;
 }
@@ -1,8 +1,10 @@
 package com.busticket.remote;
 
+import com.busticket.dto.PaymentDTO;
+
 import java.rmi.Remote;
+import java.rmi.RemoteException;
 
 public interface PaymentRemote extends Remote {
-
-
+    PaymentDTO makePayment(Long bookingId, String paymentMethod, double paidAmount) throws RemoteException;
 }
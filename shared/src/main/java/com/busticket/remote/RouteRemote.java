@@ -15,4 +15,16 @@ public interface RouteRemote extends Remote {
     boolean deleteRoute(Long id) throws RemoteException;
 
     List<RouteDTO> getAllRoutes() throws RemoteException;
-}
\ No newline at end of file
+
+    List<String> getOriginCities() throws RemoteException;
+
+    /**
+     * Destinations reachable from {@code origin}, sorted; every destination if origin is blank.
+     */
+    List<String> getDestinationCities(String origin) throws RemoteException;
+
+    /**
+     * Up to {@code limit} city names starting with {@code prefix}, case-insensitive, sorted.
+     */
+    List<String> autocompleteCities(String prefix, int limit) throws RemoteException;
+}
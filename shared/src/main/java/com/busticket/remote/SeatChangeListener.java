@@ -0,0 +1,14 @@
+package com.busticket.remote;
+
+import com.busticket.dto.SeatMapDTO;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Client-side callback for seat changes on a subscribed trip. Exported by the client and passed to
+ * {@link BookingRemote#subscribeSeatChanges}; the server calls it with coalesced seat-map deltas.
+ */
+public interface SeatChangeListener extends Remote {
+    void seatsChanged(SeatMapDTO update) throws RemoteException;
+}
@@ -1,12 +1,18 @@
 package com.busticket.remote;
 
+import com.busticket.dto.FareDayDTO;
+import com.busticket.dto.ItineraryDTO;
 import com.busticket.dto.TripDTO;
+import com.busticket.dto.TripPageDTO;
+import com.busticket.dto.TripSearchRequest;
 
+import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
-public interface TripRemote {
+public interface TripRemote extends Remote {
     boolean saveTrip(TripDTO dto) throws RemoteException;
 
     boolean updateTrip(TripDTO dto) throws RemoteException;
@@ -17,4 +23,39 @@ public interface TripRemote {
 
     List<TripDTO> searchTrips(String origin, String destination, LocalDate date)
             throws RemoteException;
+
+    /**
+     * One page of search results filtered and sorted on the server. Pass the returned
+     * {@code nextPageToken} back in the same request to fetch the following page.
+     */
+    TripPageDTO searchTripsPage(TripSearchRequest request) throws RemoteException;
+
+    /**
+     * The next open trips with availability, as shown on the home page.
+     */
+    List<TripDTO> getAdvertisedTrips() throws RemoteException;
+
+    /**
+     * {@link #getAdvertisedTrips()} pre-serialized on the server; decode with
+     * {@code SerializationUtil.fromBytes}. Cheaper to serve than the list form.
+     */
+    byte[] getAdvertisedTripsBytes() throws RemoteException;
+
+    /**
+     * Up to {@code limit} upcoming trips on the route whose travel dates are nearest to {@code date},
+     * for when the requested date itself has none.
+     */
+    List<TripDTO> searchTripsClosest(String origin, String destination, LocalDate date, int limit)
+            throws RemoteException;
+
+    /**
+     * Cheapest fare, free seats and trip count for each day of {@code month} on the route, in one call.
+     */
+    List<FareDayDTO> getFareCalendar(String origin, String destination, YearMonth month) throws RemoteException;
+
+    /**
+     * Direct and connecting itineraries whose first trip departs on {@code date}, best arrival first.
+     */
+    List<ItineraryDTO> searchConnections(String origin, String destination, LocalDate date, int maxTransfers)
+            throws RemoteException;
 }
@@ -0,0 +1,41 @@
+package com.busticket.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingDTOTest {
+    private static final String GOLDEN = "aced00057372001c636f6d2e6275737469636b65742e64746f2e426f6f6b696e67"
+            + "44544f00000000000000010c00007870772c01130b5503010002413101000241320140e8e7200000000001000742542d"
+            + "3746334b01000750454e44494e4778";
+
+    @Test
+    void keepsEncodingVersionOneStable() {
+        assertEquals(GOLDEN, DtoTestSupport.encode(sample()));
+        assertBooking(sample(), DtoTestSupport.decode(GOLDEN));
+    }
+
+    private static BookingDTO sample() {
+        BookingDTO booking = new BookingDTO();
+        booking.setBookingId(9L);
+        booking.setUserId(5L);
+        booking.setTripId(42L);
+        booking.setSeatNumbers(List.of("A1", "A2"));
+        booking.setTotalPrice(51001.0);
+        booking.setTicketCode("BT-7F3K");
+        booking.setStatus("PENDING");
+        return booking;
+    }
+
+    private static void assertBooking(BookingDTO expected, BookingDTO actual) {
+        assertEquals(expected.getBookingId(), actual.getBookingId());
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getTripId(), actual.getTripId());
+        assertEquals(expected.getSeatNumbers(), actual.getSeatNumbers());
+        assertEquals(expected.getTotalPrice(), actual.getTotalPrice());
+        assertEquals(expected.getTicketCode(), actual.getTicketCode());
+        assertEquals(expected.getStatus(), actual.getStatus());
+    }
+}
@@ -0,0 +1,138 @@
+package com.busticket.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DtoStreamsTest {
+    private static final int MAX_SHARED_STRINGS = 4096;
+
+    @Test
+    void roundTripsNullsAndExtremes() throws IOException {
+        ObjectInputStream in = read(out -> {
+            DtoStreams.writeId(out, null);
+            DtoStreams.writeId(out, -1L);
+            DtoStreams.writeId(out, 0L);
+            DtoStreams.writeId(out, Long.MAX_VALUE);
+            DtoStreams.writeInt(out, Integer.MIN_VALUE);
+            DtoStreams.writeInt(out, Integer.MAX_VALUE);
+            DtoStreams.writeDate(out, null);
+            DtoStreams.writeDate(out, LocalDate.of(1969, 12, 31));
+            DtoStreams.writeTime(out, null);
+            DtoStreams.writeTime(out, LocalTime.MIDNIGHT);
+            DtoStreams.writeTime(out, LocalTime.of(23, 59, 59));
+            DtoStreams.writeString(out, null);
+            DtoStreams.writeString(out, "");
+            DtoStreams.writeSharedString(out, null);
+            DtoStreams.writeSharedStrings(out, null);
+            DtoStreams.writeSharedStrings(out, List.of());
+        });
+
+        assertNull(DtoStreams.readId(in));
+        assertEquals(-1L, DtoStreams.readId(in));
+        assertEquals(0L, DtoStreams.readId(in));
+        assertEquals(Long.MAX_VALUE, DtoStreams.readId(in));
+        assertEquals(Integer.MIN_VALUE, DtoStreams.readInt(in));
+        assertEquals(Integer.MAX_VALUE, DtoStreams.readInt(in));
+        assertNull(DtoStreams.readDate(in));
+        assertEquals(LocalDate.of(1969, 12, 31), DtoStreams.readDate(in));
+        assertNull(DtoStreams.readTime(in));
+        assertEquals(LocalTime.MIDNIGHT, DtoStreams.readTime(in));
+        assertEquals(LocalTime.of(23, 59, 59), DtoStreams.readTime(in));
+        assertNull(DtoStreams.readString(in));
+        assertEquals("", DtoStreams.readString(in));
+        assertNull(DtoStreams.readSharedString(in));
+        assertNull(DtoStreams.readSharedStrings(in));
+        assertEquals(List.of(), DtoStreams.readSharedStrings(in));
+    }
+
+    @Test
+    void sharesRepeatedStringsWithinOneStream() throws IOException {
+        List<String> values = Arrays.asList("Yangon", "Mandalay", new String("Yangon"), null, "Yangon");
+
+        ObjectInputStream in = read(out -> DtoStreams.writeSharedStrings(out, values));
+        List<String> copy = DtoStreams.readSharedStrings(in);
+
+        assertEquals(values, copy);
+        assertSame(copy.get(0), copy.get(2));
+        assertSame(copy.get(0), copy.get(4));
+    }
+
+    @Test
+    void keepsWriterAndReaderTablesInStepPastTheLimit() throws IOException {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < MAX_SHARED_STRINGS; i++) {
+            values.add("s" + i);
+        }
+        // Past the limit: written inline every time and never given an index, on either side.
+        values.add("extra");
+        values.add("extra");
+        values.add("s0");
+        values.add("s" + (MAX_SHARED_STRINGS - 1));
+
+        ObjectInputStream in = read(out -> DtoStreams.writeSharedStrings(out, values));
+        List<String> copy = DtoStreams.readSharedStrings(in);
+
+        assertEquals(values, copy);
+        assertNotSame(copy.get(MAX_SHARED_STRINGS), copy.get(MAX_SHARED_STRINGS + 1));
+        assertSame(copy.get(0), copy.get(MAX_SHARED_STRINGS + 2));
+        assertSame(copy.get(MAX_SHARED_STRINGS - 1), copy.get(MAX_SHARED_STRINGS + 3));
+    }
+
+    @Test
+    void rejectsUnknownSharedStringIndex() throws IOException {
+        // Code 2 refers to table entry 0, which this stream never defined.
+        ObjectInputStream in = read(out -> out.writeByte(2));
+
+        assertThrows(StreamCorruptedException.class, () -> DtoStreams.readSharedString(in));
+    }
+
+    @Test
+    void rejectsMalformedVarint() throws IOException {
+        // Ten bytes with the continuation bit set run past the 64 bits a varint can carry.
+        ObjectInputStream in = read(out -> {
+            for (int i = 0; i < 10; i++) {
+                out.writeByte(0x80);
+            }
+            out.writeByte(0);
+        });
+
+        assertThrows(StreamCorruptedException.class, () -> DtoStreams.readId(in));
+    }
+
+    @Test
+    void rejectsUnknownEncodingVersion() throws IOException {
+        ObjectInputStream in = read(out -> out.writeByte(2));
+
+        assertThrows(InvalidClassException.class, () -> DtoStreams.checkVersion(in, 1, TripDTO.class));
+    }
+
+    private static ObjectInputStream read(Writer writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            writer.write(out);
+        }
+        return new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private interface Writer {
+        void write(ObjectOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,23 @@
+package com.busticket.dto;
+
+import com.busticket.util.SerializationUtil;
+
+import java.io.Serializable;
+import java.util.HexFormat;
+
+/**
+ * Helpers for the Externalizable DTO golden-stream tests. Streams are kept as hex so a change to the
+ * wire format shows up as a failing test rather than as clients that can no longer read responses.
+ */
+final class DtoTestSupport {
+    private DtoTestSupport() {
+    }
+
+    static String encode(Serializable value) {
+        return HexFormat.of().formatHex(SerializationUtil.toBytes(value));
+    }
+
+    static <T> T decode(String hex) {
+        return SerializationUtil.fromBytes(HexFormat.of().parseHex(hex));
+    }
+}
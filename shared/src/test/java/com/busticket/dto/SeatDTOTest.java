@@ -0,0 +1,22 @@
+package com.busticket.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeatDTOTest {
+    private static final String GOLDEN = "aced000573720019636f6d2e6275737469636b65742e64746f2e5365617444544f"
+            + "00000000000000010c00007870770801170f010002413178";
+
+    @Test
+    void keepsEncodingVersionOneStable() {
+        assertEquals(GOLDEN, DtoTestSupport.encode(new SeatDTO(11L, 7L, "A1")));
+        assertSeat(new SeatDTO(11L, 7L, "A1"), DtoTestSupport.decode(GOLDEN));
+    }
+
+    private static void assertSeat(SeatDTO expected, SeatDTO actual) {
+        assertEquals(expected.getSeatId(), actual.getSeatId());
+        assertEquals(expected.getBusId(), actual.getBusId());
+        assertEquals(expected.getSeatNumber(), actual.getSeatNumber());
+    }
+}
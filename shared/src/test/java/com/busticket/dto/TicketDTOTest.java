@@ -0,0 +1,51 @@
+package com.busticket.dto;
+
+import com.busticket.enums.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TicketDTOTest {
+    private static final String GOLDEN = "aced00057372001b636f6d2e6275737469636b65742e64746f2e5469636b6574"
+            + "44544f00000000000000010c0000787077600101000742542d3746334b01000941756e672041756e6701000859474e"
+            + "2d3132333401000659616e676f6e0100084d616e64616c61798fc40289ef010301000241310100024132010009434f"
+            + "4e4649524d454401000a42542d3746334b7c343278";
+
+    @Test
+    void keepsEncodingVersionOneStable() {
+        assertEquals(GOLDEN, DtoTestSupport.encode(sample()));
+        assertTicket(sample(), DtoTestSupport.decode(GOLDEN));
+    }
+
+    private static TicketDTO sample() {
+        TicketDTO ticket = new TicketDTO();
+        ticket.setTicketCode("BT-7F3K");
+        ticket.setPassengerName("Aung Aung");
+        ticket.setBusNumber("YGN-1234");
+        ticket.setOriginCity("Yangon");
+        ticket.setDestinationCity("Mandalay");
+        ticket.setTravelDate(LocalDate.of(2026, 10, 17));
+        ticket.setDepartureTime(LocalTime.of(8, 30));
+        ticket.setSeatNumbers(List.of("A1", "A2"));
+        ticket.setBookingStatus(BookingStatus.CONFIRMED);
+        ticket.setQrPayload("BT-7F3K|42");
+        return ticket;
+    }
+
+    private static void assertTicket(TicketDTO expected, TicketDTO actual) {
+        assertEquals(expected.getTicketCode(), actual.getTicketCode());
+        assertEquals(expected.getPassengerName(), actual.getPassengerName());
+        assertEquals(expected.getBusNumber(), actual.getBusNumber());
+        assertEquals(expected.getOriginCity(), actual.getOriginCity());
+        assertEquals(expected.getDestinationCity(), actual.getDestinationCity());
+        assertEquals(expected.getTravelDate(), actual.getTravelDate());
+        assertEquals(expected.getDepartureTime(), actual.getDepartureTime());
+        assertEquals(expected.getSeatNumbers(), actual.getSeatNumbers());
+        assertEquals(expected.getBookingStatus(), actual.getBookingStatus());
+        assertEquals(expected.getQrPayload(), actual.getQrPayload());
+    }
+}
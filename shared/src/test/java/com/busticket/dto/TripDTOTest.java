@@ -0,0 +1,54 @@
+package com.busticket.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TripDTOTest {
+    private static final String GOLDEN = "aced000573720019636f6d2e6275737469636b65742e64746f2e5472697044544f"
+            + "00000000000000010c00007870773d01550f078fc40289ef01e5900340d86a20000000000100044f50454e0100085947"
+            + "4e2d3132333401000659616e676f6e0100084d616e64616c6179501878";
+
+    @Test
+    void keepsEncodingVersionOneStable() {
+        assertEquals(GOLDEN, DtoTestSupport.encode(sample()));
+        assertTrip(sample(), DtoTestSupport.decode(GOLDEN));
+    }
+
+    private static TripDTO sample() {
+        TripDTO trip = new TripDTO();
+        trip.setTripId(42L);
+        trip.setBusId(7L);
+        trip.setRouteId(3L);
+        trip.setTravelDate(LocalDate.of(2026, 10, 17));
+        trip.setDepartureTime(LocalTime.of(8, 30));
+        trip.setArrivalTime(LocalTime.of(14, 15));
+        trip.setPrice(25000.5);
+        trip.setStatus("OPEN");
+        trip.setBusNumber("YGN-1234");
+        trip.setOriginCity("Yangon");
+        trip.setDestinationCity("Mandalay");
+        trip.setTotalSeats(40);
+        trip.setAvailableSeats(12);
+        return trip;
+    }
+
+    private static void assertTrip(TripDTO expected, TripDTO actual) {
+        assertEquals(expected.getTripId(), actual.getTripId());
+        assertEquals(expected.getBusId(), actual.getBusId());
+        assertEquals(expected.getRouteId(), actual.getRouteId());
+        assertEquals(expected.getTravelDate(), actual.getTravelDate());
+        assertEquals(expected.getDepartureTime(), actual.getDepartureTime());
+        assertEquals(expected.getArrivalTime(), actual.getArrivalTime());
+        assertEquals(expected.getPrice(), actual.getPrice());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getBusNumber(), actual.getBusNumber());
+        assertEquals(expected.getOriginCity(), actual.getOriginCity());
+        assertEquals(expected.getDestinationCity(), actual.getDestinationCity());
+        assertEquals(expected.getTotalSeats(), actual.getTotalSeats());
+        assertEquals(expected.getAvailableSeats(), actual.getAvailableSeats());
+    }
+}
@@ -0,0 +1,31 @@
+package com.busticket.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserDTOTest {
+    private static final String GOLDEN = "aced000573720019636f6d2e6275737469636b65742e64746f2e5573657244544f"
+            + "00000000000000010c000078707744010b01000941756e672041756e6701001061756e67406578616d706c652e636f"
+            + "6d0001000a3039313233343536373801000950415353454e47455201000641435449564578";
+
+    @Test
+    void keepsEncodingVersionOneStable() {
+        assertEquals(GOLDEN, DtoTestSupport.encode(sample()));
+        assertUser(sample(), DtoTestSupport.decode(GOLDEN));
+    }
+
+    private static UserDTO sample() {
+        return new UserDTO(5L, "Aung Aung", "aung@example.com", "0912345678", "PASSENGER", "ACTIVE");
+    }
+
+    private static void assertUser(UserDTO expected, UserDTO actual) {
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getPassword(), actual.getPassword());
+        assertEquals(expected.getPhone(), actual.getPhone());
+        assertEquals(expected.getRole(), actual.getRole());
+        assertEquals(expected.getStatus(), actual.getStatus());
+    }
+}